@@ -0,0 +1,73 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.entity.Category;
+import com.taskmanager.entity.Tag;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Sample data shared by the benchmarks, shaped like real rows
+// (a title, a short description, a category, a due date and 3 tags)
+final class BenchmarkData {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 9, 30);
+
+    private BenchmarkData() {}
+
+    static User user() {
+        User user = new User("benchmark", "$2a$10$hashhashhashhashhashhashhashhashhashhashhashhashhash", "bench@example.com");
+        user.setId(1L);
+        return user;
+    }
+
+    static Category category(long id) {
+        Category category = new Category("Work " + id);
+        category.setId(id);
+        category.setColor("#3366ff");
+        category.setDescription("Things to do at the office");
+        category.setUser(user());
+        return category;
+    }
+
+    static Set<Tag> tags() {
+        Set<Tag> tags = new HashSet<>();
+        String[] names = { "urgent", "meeting", "q1" };
+        for (int i = 0; i < names.length; i++) {
+            Tag tag = new Tag(names[i]);
+            tag.setId((long) i + 1);
+            tags.add(tag);
+        }
+        return tags;
+    }
+
+    static Task task(long id, Category category, Set<Tag> tags) {
+        Task task = new Task("Prepare the quarterly report #" + id,
+                "Collect the numbers from every team and write the summary for the board meeting");
+        task.setId(id);
+        task.setCompleted(id % 3 == 0);
+        task.setCreatedAt(NOW.minusDays(id % 30));
+        task.setUpdatedAt(NOW.minusHours(id % 24));
+        task.setDueDate(NOW.plusDays(id % 14));
+        task.setCategory(category);
+        task.setTags(tags);
+        task.setUser(user());
+        return task;
+    }
+
+    // What the API returns for a listing of the given size
+    static List<TaskDTO> taskDtos(int size) {
+        Category category = category(1);
+        Set<Tag> tags = tags();
+        List<TaskDTO> dtos = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            dtos.add(TaskDTO.fromEntity(task(i, category, tags)));
+        }
+        return dtos;
+    }
+}
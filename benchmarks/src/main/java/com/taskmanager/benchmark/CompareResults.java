@@ -0,0 +1,102 @@
+package com.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Compares two JMH result files (-rf json) side by side, e.g. before and after a change:
+//
+//   java -cp benchmarks/target/benchmarks.jar com.taskmanager.benchmark.CompareResults before.json after.json
+//
+// For each benchmark it prints the score of both runs and the change in percent, plus the bytes
+// allocated per operation when the runs used "-prof gc". A change smaller than the two error
+// margins together is marked "~" (noise), otherwise "+" (slower/more) or "-" (faster/less).
+// For time/op and bytes/op lower is better; for throughput modes (ops/time) higher is better.
+public class CompareResults {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm"; // Bytes per operation, from -prof gc
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <before.json> <after.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> before = load(new File(args[0]));
+        Map<String, JsonNode> after = load(new File(args[1]));
+
+        System.out.printf("%-70s %16s %16s %9s   %14s %14s %9s%n",
+                "Benchmark", "Before", "After", "Change", "Before B/op", "After B/op", "Change");
+        for (Map.Entry<String, JsonNode> entry : before.entrySet()) {
+            JsonNode old = entry.getValue();
+            JsonNode now = after.get(entry.getKey());
+            if (now == null) {
+                System.out.printf("%-70s (missing in %s)%n", entry.getKey(), args[1]);
+                continue;
+            }
+            JsonNode oldScore = old.get("primaryMetric");
+            JsonNode newScore = now.get("primaryMetric");
+            String line = String.format("%-70s %16s %16s %9s", entry.getKey(),
+                    format(oldScore), format(newScore), change(oldScore, newScore));
+            JsonNode oldAlloc = old.path("secondaryMetrics").get(ALLOCATION);
+            JsonNode newAlloc = now.path("secondaryMetrics").get(ALLOCATION);
+            if (oldAlloc != null && newAlloc != null) {
+                line += String.format("   %14.0f %14.0f %9s", oldAlloc.get("score").asDouble(),
+                        newAlloc.get("score").asDouble(), change(oldAlloc, newAlloc));
+            }
+            System.out.println(line);
+        }
+        for (String name : after.keySet()) {
+            if (!before.containsKey(name)) {
+                System.out.printf("%-70s (new in %s)%n", name, args[1]);
+            }
+        }
+    }
+
+    // Results by "Class.method [param=value, ...]"
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String name = result.get("benchmark").asText();
+            name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1); // Drop the package
+            JsonNode params = result.get("params");
+            if (params != null) {
+                StringBuilder suffix = new StringBuilder();
+                for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> param = it.next();
+                    suffix.append(suffix.length() == 0 ? " [" : ", ").append(param.getKey()).append('=')
+                            .append(param.getValue().asText());
+                }
+                name += suffix.append(']');
+            }
+            results.put(name, result);
+        }
+        return results;
+    }
+
+    private static String format(JsonNode metric) {
+        return String.format("%.3f %s", metric.get("score").asDouble(), metric.get("scoreUnit").asText());
+    }
+
+    private static String change(JsonNode before, JsonNode after) {
+        double old = before.get("score").asDouble();
+        double now = after.get("score").asDouble();
+        if (old == 0) {
+            return now == 0 ? "0%" : "new";
+        }
+        double percent = (now - old) / old * 100;
+        double noise = error(before) + error(after);
+        String sign = Math.abs(now - old) <= noise ? "~" : (now > old ? "+" : "-");
+        return String.format("%s%.1f%%", sign, Math.abs(percent));
+    }
+
+    // JMH reports NaN as the error when there were too few iterations to compute it
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
@@ -0,0 +1,54 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.dto.CategoryDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.entity.Category;
+import com.taskmanager.entity.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Entity <-> DTO conversion, done for every task in every response
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private Task task;
+    private TaskDTO taskDto;
+    private Category category;
+
+    @Setup
+    public void setUp() {
+        category = BenchmarkData.category(1);
+        task = BenchmarkData.task(42, category, BenchmarkData.tags());
+        taskDto = TaskDTO.fromEntity(task);
+    }
+
+    @Benchmark
+    public TaskDTO taskFromEntity() {
+        return TaskDTO.fromEntity(task);
+    }
+
+    @Benchmark
+    public Task taskToEntity() {
+        return taskDto.toEntity();
+    }
+
+    @Benchmark
+    public CategoryDTO categoryFromEntity() {
+        return CategoryDTO.fromEntity(category);
+    }
+}
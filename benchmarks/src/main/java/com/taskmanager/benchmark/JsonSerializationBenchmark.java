@@ -0,0 +1,62 @@
+package com.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.dto.TaskDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+// Writing a task listing as JSON, the last step of GET /api/tasks
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({ "10", "1000", "10000" })
+    public int tasks;
+
+    private List<TaskDTO> listing;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        listing = BenchmarkData.taskDtos(tasks);
+        // Configured like the server's ObjectMapper (Spring Boot's builder + application.yml jackson settings)
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .timeZone(TimeZone.getTimeZone("UTC"))
+                .build();
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, TaskDTO.class));
+    }
+
+    // Whole body in memory first (what a String/byte[] response does)
+    @Benchmark
+    public byte[] toBytes() throws Exception {
+        return writer.writeValueAsBytes(listing);
+    }
+
+    // Straight to the output stream (what Spring MVC does with a List return value)
+    @Benchmark
+    public void toStream() throws Exception {
+        writer.writeValue(OutputStream.nullOutputStream(), listing);
+    }
+}
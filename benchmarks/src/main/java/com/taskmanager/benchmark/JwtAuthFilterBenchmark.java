@@ -0,0 +1,66 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.config.JwtAuthFilter;
+import com.taskmanager.service.JwtService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+// JwtAuthFilter.doFilterInternal, which runs in front of every request
+// Called through the public doFilter() (OncePerRequestFilter), as Tomcat does
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthFilterBenchmark {
+
+    // valid = known token (cache hit), none = no Authorization header, invalid = bad signature
+    @Param({ "valid", "none", "invalid" })
+    public String header;
+
+    private JwtAuthFilter filter;
+    private String authorization;
+    private final FilterChain chain = (request, response) -> { }; // Stands in for the rest of the chain
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService();
+        filter = new JwtAuthFilter(jwtService);
+        String token = jwtService.generateToken(BenchmarkData.user());
+        jwtService.verify(token);
+        switch (header) {
+            case "valid": authorization = "Bearer " + token; break;
+            case "invalid": authorization = "Bearer " + token.substring(0, token.length() - 2) + "xx"; break;
+            default: authorization = null;
+        }
+    }
+
+    @Benchmark
+    public void doFilter(Blackhole blackhole) throws Exception {
+        // A new request each time: OncePerRequestFilter marks the request it has seen
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext(); // Like Spring Security at the end of a request
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.entity.User;
+import com.taskmanager.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Token creation (login/register) and validation (every authenticated request)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        user = BenchmarkData.user();
+        token = jwtService.generateToken(user);
+        jwtService.verify(token); // Now in the verified-token cache
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    // A token the server has seen before: digest + cache lookup, what most requests cost
+    @Benchmark
+    public JwtService.VerifiedToken verifyCachedToken() {
+        return jwtService.verify(token);
+    }
+
+    // Full parse + HMAC check, what the first request with a new token costs
+    @Benchmark
+    public String parseAndCheckSignature() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, "benchmark");
+    }
+}
@@ -0,0 +1,71 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.entity.User;
+import com.taskmanager.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// JwtService.verify once its verified-token cache is full of live tokens (a busy server):
+// a new token (login, another instance's token) must still cost about one parse, and a
+// known token one lookup
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenCacheBenchmark {
+
+    // Enough to fill the cache (JwtService.MAX_VERIFIED_TOKENS)
+    private static final int CACHED_TOKENS = 50_000;
+    // Cycled through, more than the cache holds, so every one is new when it comes around again
+    private static final int NEW_TOKENS = 100_000;
+
+    private JwtService jwtService;
+    private String cachedToken;
+    private String[] newTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        for (int i = 0; i < CACHED_TOKENS; i++) {
+            jwtService.verify(jwtService.generateToken(user(i)));
+        }
+        newTokens = new String[NEW_TOKENS];
+        for (int i = 0; i < NEW_TOKENS; i++) {
+            newTokens[i] = jwtService.generateToken(user(CACHED_TOKENS + i));
+        }
+        cachedToken = jwtService.generateToken(user(-1));
+        jwtService.verify(cachedToken);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyNewToken() {
+        String token = newTokens[next];
+        next = (next + 1) % NEW_TOKENS;
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyCachedToken() {
+        return jwtService.verify(cachedToken);
+    }
+
+    // One user per token, so every token is different
+    private static User user(long id) {
+        User user = BenchmarkData.user();
+        user.setId(id);
+        return user;
+    }
+}
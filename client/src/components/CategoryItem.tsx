@@ -22,6 +22,13 @@ export function CategoryItem({ category, onDelete, onEdit }: CategoryItemProps)
         </h3>
       </div>
 
+      {/* Task counts (when the list was fetched with counts) */}
+      {category.taskCount !== undefined && (
+        <p className="text-gray-500 text-sm mt-1">
+          {category.taskCount} tasks, {category.completedCount ?? 0} completed
+        </p>
+      )}
+
       {/* Description */}
       {category.description && (
         <p className="text-gray-600 text-sm mt-1">{category.description}</p>
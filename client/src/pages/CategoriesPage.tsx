@@ -20,7 +20,7 @@ export function CategoriesPage() {
         try { // Start loading
             setLoading(true);
             setError(null); // Clear previous errors
-            const data = await categoryService.getAll(); // Fetch categories from API
+            const data = await categoryService.getAll(true); // Fetch categories with their task counts from API
             setCategories(data); // Store categories in state
         } catch (err) { // Handle errors
             setError('Failed to load categories. Is the server running?'); // Set error message
@@ -43,7 +43,9 @@ export function CategoriesPage() {
         if (!categoryToEdit) return;
         try { // Update existing category via API
             const updatedCategory = await categoryService.update(categoryToEdit.id, formData); // Update category
-            setCategories(categories.map(cat => cat.id === categoryToEdit.id ? updatedCategory : cat)); // Update category in state list
+            setCategories(categories.map(cat => cat.id === categoryToEdit.id
+                ? { ...updatedCategory, taskCount: cat.taskCount, completedCount: cat.completedCount } // Keep the counts, renaming doesn't change them
+                : cat)); // Update category in state list
             setCategoryToEdit(undefined); // Clear edit state
         } catch (err) { // Handle errors
             setError('Failed to update category');
@@ -6,8 +6,9 @@ const API_URL = 'http://localhost:8080/api/categories'; // Backend API base URL
 // API service object containing all HTTP methods for categories
 export const categoryService = { // Define categoryService object and export it
   // GET /api/categories - Fetch all categories
-  getAll: async (): Promise<Category[]> => { // Return a promise that resolves to an array of Category
-    const response = await fetch(API_URL); // Make GET request to /api/categories
+  // withCounts: the server adds taskCount and completedCount to each category
+  getAll: async (withCounts = false): Promise<Category[]> => { // Return a promise that resolves to an array of Category
+    const response = await fetch(withCounts ? `${API_URL}?counts=true` : API_URL); // Make GET request to /api/categories
     if (!response.ok) throw new Error('Failed to fetch categories'); // Error handling
     return response.json() as Promise<Category[]>; // Parse JSON response
   },
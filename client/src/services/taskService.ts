@@ -54,6 +54,17 @@ export const taskService = {
     return response.json() as Promise<Task>;
   },
 
+  // PATCH /api/tasks/{id} - Change only the given fields (others keep their value)
+  patch: async (id: number, changes: Partial<TaskFormData>): Promise<Task> => {
+    const response = await fetch(`${API_URL}/${id}`, {
+      method: 'PATCH',
+      headers: getAuthHeaders(), // Include JWT token
+      body: JSON.stringify(changes),
+    });
+    if (!response.ok) throw new Error(`Failed to update task ${id}`);
+    return response.json() as Promise<Task>;
+  },
+
   // DELETE /api/tasks/{id} - Delete task
   delete: async (id: number): Promise<void> => {
     const response = await fetch(`${API_URL}/${id}`, {
@@ -6,6 +6,9 @@ export interface Category {
   description: string; // Optional description
   createdAt: string; // ISO date string
   updatedAt: string; // ISO date string
+  version: number; // Goes up with every change, send it as If-Match to avoid overwriting others
+  taskCount?: number; // Number of tasks, only when fetched with counts
+  completedCount?: number; // Number of completed tasks, only when fetched with counts
 }
 
 // Data required to create a new category
@@ -14,6 +14,7 @@ export interface Task {
   categoryColor?: string; // Category color for display
   tagIds?: number[]; // Tag IDs (optional)
   tags?: Tag[]; // Tags for display (optional)
+  version: number; // Goes up with every change, send it as If-Match to avoid overwriting others
 }
 
 // Data required to create a new task
@@ -0,0 +1,139 @@
+package com.taskmanager.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// Fills the empty database with users, categories, tags, tasks and task_tags rows
+// Plain JDBC batches with ids chosen here: seeding 100k tasks through the API would take
+// longer than the test itself. Deterministic: the same config gives the same rows.
+class DataSeeder {
+
+    static final String PASSWORD = "loadtest-password"; // Every seeded user has this password
+
+    // Titles, descriptions and search keywords are built from these
+    static final String[] WORDS = {
+        "report", "meeting", "invoice", "review", "deploy", "design", "budget", "client", "email", "call",
+        "plan", "draft", "update", "fix", "test", "order", "book", "pay", "clean", "write",
+        "read", "prepare", "send", "check", "buy", "renew", "schedule", "organize", "backup", "migrate"
+    };
+
+    private static final int BATCH_SIZE = 1000;
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    private final JdbcTemplate jdbc;
+    private final PasswordEncoder passwordEncoder;
+    private final LoadTestConfig config;
+
+    DataSeeder(JdbcTemplate jdbc, PasswordEncoder passwordEncoder, LoadTestConfig config) {
+        this.jdbc = jdbc;
+        this.passwordEncoder = passwordEncoder;
+        this.config = config;
+    }
+
+    // What the workers need to know about the seeded rows
+    static class SeededUser {
+        final long id;
+        final String email;
+        final long[] taskIds;
+        final long[] categoryIds;
+
+        SeededUser(long id, String email, long[] taskIds, long[] categoryIds) {
+            this.id = id;
+            this.email = email;
+            this.taskIds = taskIds;
+            this.categoryIds = categoryIds;
+        }
+    }
+
+    List<SeededUser> seed() {
+        Random random = new Random(config.seed);
+        String hash = passwordEncoder.encode(PASSWORD); // BCrypt is slow on purpose: hash once, reuse
+
+        List<Object[]> users = new ArrayList<>();
+        for (int u = 1; u <= config.users; u++) {
+            users.add(new Object[] { u, "user" + u, hash, "user" + u + "@loadtest.local", ts(NOW.minusDays(365)) });
+        }
+        insert("INSERT INTO users (id, username, password, email, created_at) VALUES (?, ?, ?, ?, ?)", users);
+
+        List<Object[]> tags = new ArrayList<>();
+        for (int t = 1; t <= config.tags; t++) {
+            tags.add(new Object[] { t, WORDS[(t - 1) % WORDS.length] + "-" + t, ts(NOW.minusDays(365)) });
+        }
+        insert("INSERT INTO tags (id, name, created_at) VALUES (?, ?, ?)", tags);
+
+        List<SeededUser> seeded = new ArrayList<>();
+        List<Object[]> categories = new ArrayList<>();
+        List<Object[]> tasks = new ArrayList<>();
+        List<Object[]> taskTags = new ArrayList<>();
+        long categoryId = 0;
+        long taskId = 0;
+        for (int u = 1; u <= config.users; u++) {
+            long[] categoryIds = new long[config.categoriesPerUser];
+            for (int c = 0; c < categoryIds.length; c++) {
+                categoryIds[c] = ++categoryId;
+                LocalDateTime created = NOW.minusDays(200 - c);
+                categories.add(new Object[] { categoryId, "Category " + (c + 1), "#336699", null,
+                        ts(created), ts(created), u });
+            }
+            long[] taskIds = new long[config.tasksPerUser];
+            for (int i = 0; i < taskIds.length; i++) {
+                taskIds[i] = ++taskId;
+                LocalDateTime created = NOW.minusMinutes(random.nextInt(90 * 24 * 60)); // Last 90 days
+                boolean completed = random.nextInt(10) < 3;
+                LocalDateTime due = random.nextInt(10) < 6 ? NOW.plusHours(random.nextInt(60 * 24) - 30 * 24) : null;
+                Long category = categoryIds.length > 0 && random.nextInt(5) > 0
+                        ? categoryIds[random.nextInt(categoryIds.length)] : null;
+                tasks.add(new Object[] { taskId, words(random, 4), words(random, 12), completed,
+                        ts(created), ts(created), due == null ? null : ts(due), category, u });
+                Set<Integer> chosen = new HashSet<>();
+                while (chosen.size() < config.tagsPerTask) {
+                    chosen.add(1 + random.nextInt(config.tags));
+                }
+                for (int tag : chosen) {
+                    taskTags.add(new Object[] { taskId, tag });
+                }
+            }
+            seeded.add(new SeededUser(u, "user" + u + "@loadtest.local", taskIds, categoryIds));
+        }
+        insert("INSERT INTO categories (id, name, color, description, created_at, updated_at, user_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)", categories);
+        insert("INSERT INTO tasks (id, title, description, completed, created_at, updated_at, due_date, category_id, user_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", tasks);
+        insert("INSERT INTO task_tags (task_id, tag_id) VALUES (?, ?)", taskTags);
+
+        // Rows created during the test must get ids after the seeded ones
+        jdbc.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (config.users + 1));
+        jdbc.execute("ALTER TABLE tags ALTER COLUMN id RESTART WITH " + (config.tags + 1));
+        jdbc.execute("ALTER TABLE categories ALTER COLUMN id RESTART WITH " + (categoryId + 1));
+        jdbc.update("UPDATE task_seq SET next_val = ?", taskId + 50); // See V2 migration for the + 50
+        return seeded;
+    }
+
+    // A few random words from WORDS, starting with a capital
+    static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        text.setCharAt(0, Character.toUpperCase(text.charAt(0)));
+        return text.toString();
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private static Timestamp ts(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+}
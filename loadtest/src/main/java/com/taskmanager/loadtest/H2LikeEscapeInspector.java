@@ -0,0 +1,15 @@
+package com.taskmanager.loadtest;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// The MySQL dialect writes "like ... escape '\\'": in MySQL a backslash in a string literal
+// is itself escaped, so that is a one-character escape. H2 reads it as two characters and
+// rejects it, so every "Containing" search query would fail on the embedded database.
+// Registered by LoadTest.startServer only when the database is H2.
+public class H2LikeEscapeInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        return sql.replace("escape '\\\\'", "escape '\\'");
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskmanager.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies per endpoint, recorded in microseconds
+// HdrHistogram keeps every value at 3 significant digits with fixed memory, so p99.9 and max
+// are exact enough, unlike an average or a sampled percentile.
+class LatencyReport {
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>(); // "endpoint status" -> count
+
+    void record(String endpoint, long micros, int status) {
+        histograms.computeIfAbsent(endpoint, name -> new ConcurrentHistogram(3)).recordValue(Math.max(1, micros));
+        if (status < 200 || status >= 300) {
+            errors.computeIfAbsent(endpoint, name -> new LongAdder()).increment();
+            statuses.computeIfAbsent(endpoint + " " + status, name -> new LongAdder()).increment();
+        }
+    }
+
+    void print(PrintStream out, double seconds) {
+        out.printf("%n%-22s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            long failed = errorCount(entry.getKey());
+            printRow(out, entry.getKey(), entry.getValue(), failed, seconds);
+            total.add(entry.getValue());
+            totalErrors += failed;
+        }
+        printRow(out, "TOTAL", total, totalErrors, seconds);
+        if (!statuses.isEmpty()) {
+            out.println("\nUnexpected status codes:");
+            new TreeMap<>(statuses).forEach((key, count) -> out.printf("  %-30s %d%n", key, count.sum()));
+        }
+    }
+
+    // Full percentile distribution per endpoint, in milliseconds (plot at hdrhistogram.github.io/HdrHistogram/plotFiles.html)
+    void writeDistributions(File directory) throws FileNotFoundException {
+        directory.mkdirs();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            String fileName = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm";
+            try (PrintStream file = new PrintStream(new File(directory, fileName))) {
+                entry.getValue().outputPercentileDistribution(file, 1000.0);
+            }
+        }
+    }
+
+    private long errorCount(String endpoint) {
+        LongAdder count = errors.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long errors, double seconds) {
+        out.printf("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(), errors,
+                histogram.getTotalCount() / seconds,
+                ms(histogram.getValueAtPercentile(50)), ms(histogram.getValueAtPercentile(90)),
+                ms(histogram.getValueAtPercentile(99)), ms(histogram.getValueAtPercentile(99.9)),
+                ms(histogram.getMaxValue()));
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,116 @@
+package com.taskmanager.loadtest;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.service.TaskSearchIndex;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Load test of the real server:
+// 1. start the application in this JVM on a random port, with an in-memory H2 database
+//    in MySQL mode (same Flyway migrations, same Hibernate MySQL dialect as production)
+// 2. seed users, categories, tags and tasks (DataSeeder)
+// 3. run `concurrency` workers against http://localhost for warm-up + duration seconds (Worker)
+// 4. print requests, errors and latency percentiles per endpoint (LatencyReport)
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.out.println("Load test: " + config);
+
+        ConfigurableApplicationContext context = startServer(config.springProperties);
+        try {
+            long seedStart = System.currentTimeMillis();
+            List<DataSeeder.SeededUser> users = new DataSeeder(context.getBean(JdbcTemplate.class),
+                    context.getBean(PasswordEncoder.class), config).seed();
+            context.getBean(TaskSearchIndex.class).rebuild(); // The index was built before the rows existed
+            System.out.printf("Seeded %d users, %d tasks in %d ms%n", users.size(),
+                    (long) users.size() * config.tasksPerUser, System.currentTimeMillis() - seedStart);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LatencyReport report = run(config, "http://localhost:" + port, users);
+
+            report.print(System.out, config.duration);
+            if (config.out != null) {
+                report.writeDistributions(new File(config.out));
+                System.out.println("\nPercentile distributions written to " + config.out);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    // Also used by RepositoryScaleBenchmark
+    static ConfigurableApplicationContext startServer(Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("server.port", "0"); // Any free port
+        // Logging every statement would measure the console, not the server
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        properties.put("logging.level.org.springframework.web", "WARN");
+        properties.put("logging.level.com.taskmanager", "WARN");
+        properties.put("spring.main.banner-mode", "off");
+        properties.putAll(overrides); // Command line wins
+        if (String.valueOf(properties.get("spring.datasource.url")).startsWith("jdbc:h2:")) {
+            properties.put("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                    H2LikeEscapeInspector.class.getName());
+        }
+
+        // Passed as command-line arguments so they override the MySQL settings in application.yml
+        SpringApplication application = new SpringApplication(TaskManagerApplication.class);
+        List<String> args = new ArrayList<>();
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+        return application.run(args.toArray(new String[0]));
+    }
+
+    private static LatencyReport run(LoadTestConfig config, String baseUrl, List<DataSeeder.SeededUser> users)
+            throws Exception {
+        LatencyReport report = new LatencyReport();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long start = System.nanoTime();
+        long measureStart = start + config.warmup * 1_000_000_000L;
+        long end = measureStart + config.duration * 1_000_000_000L;
+        long intervalNanos = config.rate > 0 ? 1_000_000_000L * config.concurrency / config.rate : 0;
+
+        ExecutorService threads = Executors.newFixedThreadPool(config.concurrency);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < config.concurrency; i++) {
+            DataSeeder.SeededUser user = users.get(i % users.size()); // Spread workers over the accounts
+            workers.add(threads.submit(new Worker(client, baseUrl, user, report, config.seed + i,
+                    measureStart, end, intervalNanos)));
+        }
+        System.out.printf("Running: %ds warm-up, then %ds measured...%n", config.warmup, config.duration);
+        try {
+            for (Future<?> worker : workers) {
+                worker.get(); // Rethrows a worker's failure
+            }
+        } finally {
+            threads.shutdownNow(); // Stops the other workers if one failed
+        }
+        return report;
+    }
+}
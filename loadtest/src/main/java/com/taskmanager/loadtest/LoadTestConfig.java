@@ -0,0 +1,76 @@
+package com.taskmanager.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Options of a load test run, given as key=value arguments:
+//   java -jar loadtest.jar concurrency=64 duration=60 users=200
+// Arguments starting with "spring.", "server.", "logging." or "taskmanager." are passed to the server
+// as Spring properties:
+//   java -jar loadtest.jar spring.datasource.hikari.maximum-pool-size=20
+public class LoadTestConfig {
+
+    // Seed data
+    int users = 100; // Accounts (each worker logs in as one of them)
+    int tasksPerUser = 200;
+    int categoriesPerUser = 5;
+    int tags = 50; // Tags are shared by all users
+    int tagsPerTask = 2;
+    long seed = 42; // Same seed = same data and same request sequence
+
+    // Load
+    int concurrency = 16; // Threads sending requests at the same time
+    int warmup = 10; // Seconds of load before measuring starts (JIT, caches, pools)
+    int duration = 30; // Seconds measured
+    int rate = 0; // Total requests/second to aim for, 0 = as fast as the server answers (see Worker)
+
+    String out; // Directory for .hgrm files (full percentile distribution per endpoint), optional
+
+    // spring.* (etc.) arguments, forwarded to the server
+    final Map<String, Object> springProperties = new LinkedHashMap<>();
+
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            String pair = arg.startsWith("--") ? arg.substring(2) : arg;
+            int equals = pair.indexOf('=');
+            if (equals < 1) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            String key = pair.substring(0, equals);
+            String value = pair.substring(equals + 1);
+            if (key.startsWith("spring.") || key.startsWith("server.") || key.startsWith("logging.")
+                    || key.startsWith("taskmanager.")) {
+                config.springProperties.put(key, value);
+                continue;
+            }
+            switch (key) {
+                case "users": config.users = Integer.parseInt(value); break;
+                case "tasksPerUser": config.tasksPerUser = Integer.parseInt(value); break;
+                case "categoriesPerUser": config.categoriesPerUser = Integer.parseInt(value); break;
+                case "tags": config.tags = Integer.parseInt(value); break;
+                case "tagsPerTask": config.tagsPerTask = Integer.parseInt(value); break;
+                case "seed": config.seed = Long.parseLong(value); break;
+                case "concurrency": config.concurrency = Integer.parseInt(value); break;
+                case "warmup": config.warmup = Integer.parseInt(value); break;
+                case "duration": config.duration = Integer.parseInt(value); break;
+                case "rate": config.rate = Integer.parseInt(value); break;
+                case "out": config.out = value; break;
+                default: throw new IllegalArgumentException("Unknown option: " + key);
+            }
+        }
+        if (config.users < 1 || config.tasksPerUser < 1 || config.concurrency < 1 || config.duration < 1) {
+            throw new IllegalArgumentException("users, tasksPerUser, concurrency and duration must be at least 1");
+        }
+        config.tagsPerTask = Math.min(config.tagsPerTask, config.tags);
+        return config;
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + " tasksPerUser=" + tasksPerUser + " categoriesPerUser=" + categoriesPerUser
+                + " tags=" + tags + " tagsPerTask=" + tagsPerTask + " concurrency=" + concurrency
+                + " warmup=" + warmup + "s duration=" + duration + "s rate=" + (rate == 0 ? "max" : rate + "/s")
+                + (springProperties.isEmpty() ? "" : " " + springProperties);
+    }
+}
@@ -0,0 +1,219 @@
+package com.taskmanager.loadtest;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.TaskService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Compares the two ways of reading a task listing, for the heaviest user of a generated dataset:
+//
+//   entity     - what TaskService did before: load Task entities (category joined), initialise
+//                their tags with fetchTags, copy everything into TaskDTOs
+//   projection - what TaskService does now: "select new TaskDTO(...)" + one query for the tags,
+//                no entities in the persistence context
+//
+//   java -Xmx2g -Dloader.main=com.taskmanager.loadtest.ReadPathBenchmark -jar loadtest/target/loadtest.jar
+//        tasks=1000000 iterations=10
+//
+// Both run in a read-only transaction, like the service methods. Reported per call:
+// - median and max time
+// - bytes allocated by the calling thread (garbage the request leaves for the GC)
+// - heap still in use right before the transaction ends (persistence context + result),
+//   measured once per path with a GC before and after
+// - entities held by the persistence context
+public class ReadPathBenchmark {
+
+    private static final int PAGE = 50;
+
+    // Options: key=value, spring.* / server.* / logging.* go to the server like in LoadTest
+    private long taskCount = 1_000_000;
+    private long seed = 42;
+    private int iterations = 10;
+    private final Map<String, Object> springProperties = new LinkedHashMap<>();
+
+    private TaskService taskService;
+    private TaskRepository tasks;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    // What one measured call returned, plus the size of the persistence context at its end
+    private static class Result {
+        int rows;
+        long managedEntities;
+        long retainedBytes; // Only filled in by the retained-heap run
+    }
+
+    public static void main(String[] args) {
+        ReadPathBenchmark benchmark = new ReadPathBenchmark();
+        benchmark.parse(args);
+        benchmark.run();
+    }
+
+    private void parse(String[] args) {
+        for (String arg : args) {
+            String pair = arg.startsWith("--") ? arg.substring(2) : arg;
+            int equals = pair.indexOf('=');
+            if (equals < 1) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            String key = pair.substring(0, equals);
+            String value = pair.substring(equals + 1);
+            if (key.startsWith("spring.") || key.startsWith("server.") || key.startsWith("logging.")) {
+                springProperties.put(key, value);
+                continue;
+            }
+            switch (key) {
+                case "tasks": taskCount = Long.parseLong(value); break;
+                case "seed": seed = Long.parseLong(value); break;
+                case "iterations": iterations = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("Unknown option: " + key);
+            }
+        }
+    }
+
+    private void run() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.flyway.clean-disabled", "false");
+        properties.putAll(springProperties);
+        ConfigurableApplicationContext context = LoadTest.startServer(properties);
+        try {
+            taskService = context.getBean(TaskService.class);
+            tasks = context.getBean(TaskRepository.class);
+            EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+            entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+            readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            readOnly.setReadOnly(true);
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+            System.out.printf("Generating %,d tasks...%n", taskCount);
+            Flyway flyway = context.getBean(Flyway.class);
+            flyway.clean();
+            flyway.migrate();
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+            String hash = context.getBean(PasswordEncoder.class).encode(DataSeeder.PASSWORD);
+            ScaleDataGenerator.Summary summary = new ScaleDataGenerator(jdbc, hash).generate(taskCount, seed);
+            ScaleDataGenerator.analyze(jdbc);
+            long userTasks = jdbc.queryForObject("SELECT COUNT(*) FROM tasks WHERE user_id = 1", Long.class);
+            System.out.printf("Generated %s; user 1 owns %,d tasks%n%n", summary, userTasks);
+
+            User user = new User();
+            user.setId(1L);
+            System.out.println("| Listing (user 1) | Path | Rows | Median ms | Max ms | Allocated/call"
+                    + " | Retained at end of tx | Managed entities |");
+            System.out.println("|---|---|---|---|---|---|---|---|");
+            compare("all tasks", () -> entityListing(user.getId(), false), () -> taskService.getAllTasks(user));
+            compare("incomplete tasks", () -> entityListing(user.getId(), true),
+                    () -> taskService.getIncompleteTasks(user));
+            compare("first page (" + PAGE + ")", () -> entityPage(user.getId()),
+                    () -> taskService.getTasksPage(user, null, PAGE).getItems());
+        } finally {
+            context.close();
+        }
+    }
+
+    private void compare(String listing, Supplier<List<TaskDTO>> entityPath, Supplier<List<TaskDTO>> projectionPath) {
+        measure(listing, "entity", entityPath);
+        measure(listing, "projection", projectionPath);
+    }
+
+    // One untimed call, one call for the retained heap, then `iterations` timed ones
+    private void measure(String listing, String path, Supplier<List<TaskDTO>> read) {
+        call(read, false);
+        Result retained = call(read, true);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        List<Long> durations = new ArrayList<>();
+        List<Long> allocations = new ArrayList<>();
+        Result result = null;
+        for (int i = 0; i < iterations; i++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            result = call(read, false);
+            durations.add(System.nanoTime() - start);
+            allocations.add(threads.getThreadAllocatedBytes(thread) - allocatedBefore);
+        }
+        durations.sort(null);
+        allocations.sort(null);
+        System.out.printf("| %s | %s | %,d | %.1f | %.1f | %s | %s | %,d |%n", listing, path, result.rows,
+                durations.get(durations.size() / 2) / 1e6, durations.get(durations.size() - 1) / 1e6,
+                megabytes(allocations.get(allocations.size() / 2)), megabytes(Math.max(0, retained.retainedBytes)),
+                result.managedEntities);
+    }
+
+    // The read in its own read-only transaction (like one API request)
+    private Result call(Supplier<List<TaskDTO>> read, boolean measureRetained) {
+        long baseline = measureRetained ? usedHeapAfterGc() : 0;
+        return readOnly.execute(status -> {
+            Result result = new Result();
+            List<TaskDTO> dtos = read.get();
+            result.rows = dtos.size();
+            result.managedEntities = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+            if (measureRetained) {
+                // Still inside the transaction: the persistence context and the DTOs are both reachable
+                result.retainedBytes = usedHeapAfterGc() - baseline;
+            }
+            return result;
+        });
+    }
+
+    // The read path TaskService used before the projections
+    private List<TaskDTO> entityListing(Long userId, boolean incompleteOnly) {
+        List<Task> list = entityManager.createQuery("select t from Task t left join fetch t.category"
+                + " where t.user.id = :userId" + (incompleteOnly ? " and t.completed = false" : "")
+                + " order by t.createdAt desc", Task.class)
+                .setParameter("userId", userId)
+                .getResultList();
+        return toDTOs(list);
+    }
+
+    private List<TaskDTO> entityPage(Long userId) {
+        List<Task> page = entityManager.createQuery("select t from Task t left join fetch t.category"
+                + " where t.user.id = :userId order by t.createdAt desc, t.id desc", Task.class)
+                .setParameter("userId", userId)
+                .setMaxResults(PAGE)
+                .getResultList();
+        return toDTOs(page);
+    }
+
+    // Tags loaded 1000 tasks per query like the projection path (a single IN list with every id
+    // of a big account fails: too many parameters)
+    private List<TaskDTO> toDTOs(List<Task> list) {
+        List<Long> ids = list.stream().map(Task::getId).collect(Collectors.toList());
+        for (int from = 0; from < ids.size(); from += 1000) {
+            tasks.fetchTags(ids.subList(from, Math.min(from + 1000, ids.size())));
+        }
+        return list.stream().map(TaskDTO::fromEntity).collect(Collectors.toList());
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
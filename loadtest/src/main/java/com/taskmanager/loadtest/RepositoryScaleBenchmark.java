@@ -0,0 +1,366 @@
+package com.taskmanager.loadtest;
+
+import com.taskmanager.config.QueryIndexCheck;
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.CategoryRepository;
+import com.taskmanager.repository.TagRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskTombstoneRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Runs every TaskRepository, CategoryRepository, TagRepository and TaskTombstoneRepository
+// query against generated datasets of growing size, and reports timings and query plans.
+//
+//   java -Dloader.main=com.taskmanager.loadtest.RepositoryScaleBenchmark -jar loadtest/target/loadtest.jar
+//        scales=100000,1000000 out=scale-report.md
+//
+// For each scale (number of tasks):
+// 1. wipe the database and run the Flyway migrations (so a MySQL run starts from the same state)
+// 2. generate the data (ScaleDataGenerator: skewed users and tags)
+// 3. call each repository method through its Spring bean, in its own transaction, for three
+//    users: the heaviest (user 1), one at the 10% rank and the lightest. Updates and deletes
+//    are rolled back, so every query sees the same data.
+// 4. run EXPLAIN on the SQL of each query (from QueryIndexCheck) for user 1
+// A query whose time grows with the table instead of with its result is a scaling cliff.
+public class RepositoryScaleBenchmark {
+
+    private static final int PAGE = 50; // Page size used by the API
+
+    // One user (and tag) the queries run for
+    private static class Profile {
+        final String name;
+        final long userId;
+        final long tagId;
+        long tasks; // Tasks this user owns
+        List<Long> firstPage = new ArrayList<>(); // Ids of the user's newest tasks
+        LocalDateTime cursorCreatedAt = ScaleDataGenerator.NOW;
+        long cursorId = Long.MAX_VALUE;
+        Long categoryId;
+
+        Profile(String name, long userId, long tagId) {
+            this.name = name;
+            this.userId = userId;
+            this.tagId = tagId;
+        }
+    }
+
+    // A repository call: runs the query for a profile and returns the number of rows it got
+    private static class Case {
+        final String name;
+        final boolean perUser; // false = same query for everyone, only run once
+        final boolean write; // Rolled back after timing
+        final ToIntFunction<Profile> query;
+
+        Case(String name, boolean perUser, boolean write, ToIntFunction<Profile> query) {
+            this.name = name;
+            this.perUser = perUser;
+            this.write = write;
+            this.query = query;
+        }
+    }
+
+    // Median and max of the timed calls
+    private static class Timing {
+        double medianMs;
+        double maxMs;
+        int rows;
+    }
+
+    // Options: key=value, spring.* / server.* / logging.* go to the server like in LoadTest
+    private long[] scales = { 100_000, 1_000_000 };
+    private long seed = 42;
+    private int iterations = 5; // Timed calls per query and user, after one untimed call
+    private int budgetSeconds = 10; // Stop repeating a query early once it has used this much time
+    private String out = "scale-report.md";
+    private final Map<String, Object> springProperties = new LinkedHashMap<>();
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository tasks;
+    private CategoryRepository categories;
+    private TagRepository tags;
+    private TaskTombstoneRepository tombstones;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    public static void main(String[] args) throws Exception {
+        RepositoryScaleBenchmark benchmark = new RepositoryScaleBenchmark();
+        benchmark.parse(args);
+        benchmark.run();
+    }
+
+    private void parse(String[] args) {
+        for (String arg : args) {
+            String pair = arg.startsWith("--") ? arg.substring(2) : arg;
+            int equals = pair.indexOf('=');
+            if (equals < 1) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            String key = pair.substring(0, equals);
+            String value = pair.substring(equals + 1);
+            if (key.startsWith("spring.") || key.startsWith("server.") || key.startsWith("logging.")) {
+                springProperties.put(key, value);
+                continue;
+            }
+            switch (key) {
+                case "scales": scales = Arrays.stream(value.split(",")).mapToLong(Long::parseLong).toArray(); break;
+                case "seed": seed = Long.parseLong(value); break;
+                case "iterations": iterations = Integer.parseInt(value); break;
+                case "budget": budgetSeconds = Integer.parseInt(value); break;
+                case "out": out = value; break;
+                default: throw new IllegalArgumentException("Unknown option: " + key);
+            }
+        }
+    }
+
+    private void run() throws FileNotFoundException {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.flyway.clean-disabled", "false"); // Each scale starts from an empty schema
+        properties.putAll(springProperties);
+        context = LoadTest.startServer(properties);
+        try (PrintStream report = new PrintStream(out)) {
+            tasks = context.getBean(TaskRepository.class);
+            categories = context.getBean(CategoryRepository.class);
+            tags = context.getBean(TagRepository.class);
+            tombstones = context.getBean(TaskTombstoneRepository.class);
+            jdbc = context.getBean(JdbcTemplate.class);
+            PlatformTransactionManager transactions = context.getBean(PlatformTransactionManager.class);
+            readOnly = new TransactionTemplate(transactions);
+            readOnly.setReadOnly(true);
+            readWrite = new TransactionTemplate(transactions);
+            String hash = context.getBean(PasswordEncoder.class).encode(DataSeeder.PASSWORD);
+
+            report.println("# Repository scale benchmark");
+            report.printf("%nDatabase: %s, seed %d, %d timed calls per query (budget %ds)%n",
+                    jdbc.execute((Connection c) -> c.getMetaData().getDatabaseProductName()
+                            + " " + c.getMetaData().getDatabaseProductVersion()), seed, iterations, budgetSeconds);
+            for (long scale : scales) {
+                runScale(scale, hash, report);
+            }
+            System.out.println("\nReport written to " + out);
+        } finally {
+            context.close();
+        }
+    }
+
+    private void runScale(long scale, String hash, PrintStream report) {
+        System.out.printf("%nScale %,d tasks: generating...%n", scale);
+        Flyway flyway = context.getBean(Flyway.class);
+        flyway.clean();
+        flyway.migrate();
+        context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getCache().evictAllRegions();
+        ScaleDataGenerator.Summary summary = new ScaleDataGenerator(jdbc, hash).generate(scale, seed);
+        ScaleDataGenerator.analyze(jdbc);
+        System.out.printf("Generated %s in %,d ms%n", summary, summary.millis);
+
+        List<Profile> profiles = List.of(
+                profile("heaviest", 1, 1),
+                profile("10% rank", Math.max(1, summary.users / 10), Math.max(1, summary.tags / 10)),
+                profile("lightest", summary.users, summary.tags));
+
+        report.printf("%n## %,d tasks%n%n%s (generated in %,d ms)%n%n", scale, summary, summary.millis);
+        report.print("| Query |");
+        for (Profile profile : profiles) {
+            report.printf(" %s: user %d, %,d tasks |", profile.name, profile.userId, profile.tasks);
+        }
+        report.println();
+        report.println("|---|---|---|---|");
+
+        for (Case query : cases()) {
+            StringBuilder row = new StringBuilder("| " + query.name + " |");
+            for (Profile profile : profiles) {
+                if (!query.perUser && profile != profiles.get(0)) {
+                    row.append(" - |");
+                    continue;
+                }
+                try {
+                    Timing timing = time(query, profile);
+                    row.append(String.format(" %.2f ms (max %.2f, %,d rows) |", timing.medianMs, timing.maxMs,
+                            timing.rows));
+                } catch (RuntimeException e) {
+                    // Report it in the table and keep going with the other queries
+                    row.append(" failed: ").append(rootCause(e).getMessage().lines().findFirst().orElse("")).append(" |");
+                }
+            }
+            report.println(row);
+            System.out.println(row);
+        }
+
+        report.printf("%n### Query plans (user 1)%n");
+        for (Map.Entry<String, String> query : plannedQueries().entrySet()) {
+            report.printf("%n**%s**%n```%n%s%n```%n", query.getKey(), explain(query.getValue()));
+        }
+        report.flush();
+    }
+
+    // Every repository query, with arguments that look like what the API sends
+    private List<Case> cases() {
+        List<Case> cases = new ArrayList<>();
+        cases.add(new Case("Task.findByUserIdOrderByCreatedAtDesc", true, false,
+                p -> tasks.findByUserIdOrderByCreatedAtDesc(p.userId).size()));
+        cases.add(new Case("Task.findByUserIdAndTitleContainingIgnoreCase", true, false,
+                p -> tasks.findByUserIdAndTitleContainingIgnoreCase(p.userId, "report").size()));
+        cases.add(new Case("Task.findByUserIdAndCompletedFalseOrderByCreatedAtDesc", true, false,
+                p -> tasks.findByUserIdAndCompletedFalseOrderByCreatedAtDesc(p.userId).size()));
+        cases.add(new Case("Task.findByUserIdOrderByCreatedAtDescIdDesc", true, false,
+                p -> tasks.findByUserIdOrderByCreatedAtDescIdDesc(p.userId, Limit.of(PAGE)).size()));
+        cases.add(new Case("Task.findPageAfter", true, false,
+                p -> tasks.findPageAfter(p.userId, p.cursorCreatedAt, p.cursorId, Limit.of(PAGE)).size()));
+        cases.add(new Case("Task.findByUserIdAndCompletedFalseOrderByCreatedAtDescIdDesc", true, false,
+                p -> tasks.findByUserIdAndCompletedFalseOrderByCreatedAtDescIdDesc(p.userId, Limit.of(PAGE)).size()));
+        cases.add(new Case("Task.findIncompletePageAfter", true, false,
+                p -> tasks.findIncompletePageAfter(p.userId, p.cursorCreatedAt, p.cursorId, Limit.of(PAGE)).size()));
+        cases.add(new Case("Task.findDTOByIdAndUserId", true, false,
+                p -> p.firstPage.isEmpty() ? 0
+                        : tasks.findDTOByIdAndUserId(p.firstPage.get(0), p.userId).isPresent() ? 1 : 0));
+        cases.add(new Case("Task.findDTOsByUserIdAndIdIn", true, false,
+                p -> tasks.findDTOsByUserIdAndIdIn(p.userId, p.firstPage).size()));
+        cases.add(new Case("Task.findTagRows", true, false,
+                p -> p.firstPage.isEmpty() ? 0 : tasks.findTagRows(p.firstPage).size()));
+        cases.add(new Case("Task.findByUserIdAndIdIn", true, false,
+                p -> tasks.findByUserIdAndIdIn(p.userId, p.firstPage).size()));
+        cases.add(new Case("Task.fetchTags", true, false,
+                p -> p.firstPage.isEmpty() ? 0 : tasks.fetchTags(p.firstPage).size()));
+        cases.add(new Case("Task.streamAllByUserId", true, false, p -> {
+            try (Stream<Task> stream = tasks.streamAllByUserId(p.userId)) {
+                return (int) stream.count();
+            }
+        }));
+        cases.add(new Case("Task.findChangedAfter", true, false,
+                p -> tasks.findChangedAfter(p.userId, 0L, 0L, Limit.of(500)).size()));
+        cases.add(new Case("Task.countByCategoryAndCompleted", true, false,
+                p -> tasks.countByCategoryAndCompleted(p.userId, ScaleDataGenerator.NOW).size()));
+        cases.add(new Case("Task.countByCategory", true, false,
+                p -> tasks.countByCategory(p.userId).size()));
+        cases.add(new Case("Task.findUpcomingDueDates", true, false,
+                p -> tasks.findUpcomingDueDates(p.userId, ScaleDataGenerator.NOW).size()));
+        // Generated rows are at version 0 (column default) and the writes are rolled back
+        cases.add(new Case("Task.toggleCompleted", true, true,
+                p -> p.firstPage.isEmpty() ? 0
+                        : tasks.toggleCompleted(p.firstPage.get(0), p.userId, null, ScaleDataGenerator.NOW)));
+        cases.add(new Case("Task.deleteByIdAndUserId", true, true,
+                p -> p.firstPage.isEmpty() ? 0 : tasks.deleteByIdAndUserId(p.firstPage.get(0), p.userId, 0L)));
+        cases.add(new Case("Task.lockIdsByCategoryId", true, true,
+                p -> p.categoryId == null ? 0 : tasks.lockIdsByCategoryId(p.categoryId).size()));
+        cases.add(new Case("Task.detachFromCategory", true, true,
+                p -> p.categoryId == null ? 0 : tasks.detachFromCategory(p.categoryId, ScaleDataGenerator.NOW)));
+        // The user's column picks a tag of the same popularity rank: tag 1 is on the most tasks
+        cases.add(new Case("Task.findIdsByTagId", true, false, p -> tasks.findIdsByTagId(p.tagId).size()));
+        cases.add(new Case("Task.lockOwnersByIds (one 1000-id chunk)", true, true, p -> {
+            List<Long> ids = tasks.findIdsByTagId(p.tagId);
+            return ids.isEmpty() ? 0 : tasks.lockOwnersByIds(ids.subList(0, Math.min(1000, ids.size()))).size();
+        }));
+        cases.add(new Case("Task.findByIdGreaterThanOrderByIdAsc", false, false,
+                p -> tasks.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(500)).size()));
+        cases.add(new Case("Category.findByUserIdOrderByCreatedAtDesc", true, false,
+                p -> categories.findByUserIdOrderByCreatedAtDesc(p.userId).size()));
+        cases.add(new Case("Category.findDTOsByUserIdOrderByCreatedAtDesc", true, false,
+                p -> categories.findDTOsByUserIdOrderByCreatedAtDesc(p.userId).size()));
+        cases.add(new Case("Category.findByUserIdAndNameContainingIgnoreCase", true, false,
+                p -> categories.findByUserIdAndNameContainingIgnoreCase(p.userId, "plan").size()));
+        cases.add(new Case("Tag.findByNameContainingIgnoreCase", false, false,
+                p -> tags.findByNameContainingIgnoreCase("re").size()));
+        cases.add(new Case("Tag.findAllByOrderByCreatedAtDesc", false, false,
+                p -> tags.findAllByOrderByCreatedAtDesc().size()));
+        cases.add(new Case("TaskTombstone.findAfter", true, false,
+                p -> tombstones.findAfter(p.userId, 0L, 0L, Limit.of(500)).size()));
+        cases.add(new Case("TaskTombstone.deleteOlderThan", false, true,
+                p -> tombstones.deleteOlderThan(ScaleDataGenerator.NOW.minusDays(60))));
+        return cases;
+    }
+
+    // One untimed call (JIT, plan and cache warm-up), then up to `iterations` timed ones
+    private Timing time(Case query, Profile profile) {
+        long budgetNanos = budgetSeconds * 1_000_000_000L;
+        Timing timing = new Timing();
+        timing.rows = call(query, profile);
+        List<Long> durations = new ArrayList<>();
+        long spent = 0;
+        while (durations.size() < iterations && (durations.isEmpty() || spent < budgetNanos)) {
+            long start = System.nanoTime();
+            call(query, profile);
+            long duration = System.nanoTime() - start;
+            durations.add(duration);
+            spent += duration;
+        }
+        durations.sort(null);
+        timing.medianMs = durations.get(durations.size() / 2) / 1e6;
+        timing.maxMs = durations.get(durations.size() - 1) / 1e6;
+        return timing;
+    }
+
+    // Each call in its own transaction (fresh persistence context, like one API request)
+    private int call(Case query, Profile profile) {
+        if (!query.write) {
+            return readOnly.execute(status -> query.query.applyAsInt(profile));
+        }
+        return readWrite.execute(status -> {
+            status.setRollbackOnly(); // Keep the data identical for the next call
+            return query.query.applyAsInt(profile);
+        });
+    }
+
+    private static Throwable rootCause(Throwable e) {
+        return e.getCause() == null ? e : rootCause(e.getCause());
+    }
+
+    // Values the paging and by-id queries need, read once with plain SQL
+    private Profile profile(String name, long userId, long tagId) {
+        Profile profile = new Profile(name, userId, tagId);
+        profile.tasks = jdbc.queryForObject("SELECT COUNT(*) FROM tasks WHERE user_id = ?", Long.class, userId);
+        jdbc.query("SELECT id, created_at FROM tasks WHERE user_id = ? ORDER BY created_at DESC, id DESC LIMIT "
+                + PAGE, rs -> {
+                    profile.firstPage.add(rs.getLong("id"));
+                    profile.cursorCreatedAt = rs.getTimestamp("created_at").toLocalDateTime();
+                    profile.cursorId = rs.getLong("id");
+                }, userId);
+        profile.categoryId = jdbc.query("SELECT MIN(id) FROM categories WHERE user_id = ?",
+                rs -> rs.next() ? (Long) rs.getObject(1, Long.class) : null, userId);
+        return profile;
+    }
+
+    // QueryIndexCheck's SQL plus the tag queries (which it leaves out: the tags table is small
+    // and shared, and a name search on it scans it by design)
+    private static Map<String, String> plannedQueries() {
+        Map<String, String> queries = new LinkedHashMap<>(QueryIndexCheck.queries());
+        queries.put("TagRepository.findByNameContainingIgnoreCase",
+                "SELECT * FROM tags WHERE UPPER(name) LIKE UPPER('%re%')");
+        queries.put("TagRepository.findAllByOrderByCreatedAtDesc", "SELECT * FROM tags ORDER BY created_at DESC");
+        return queries;
+    }
+
+    // EXPLAIN output as text: H2 returns one PLAN column, MySQL one row per table
+    private String explain(String sql) {
+        List<Map<String, Object>> rows = jdbc.queryForList("EXPLAIN " + sql);
+        return rows.stream().map(row -> {
+            if (row.size() == 1) {
+                return String.valueOf(row.values().iterator().next());
+            }
+            return row.entrySet().stream()
+                    .filter(column -> column.getValue() != null)
+                    .map(column -> column.getKey() + "=" + column.getValue())
+                    .collect(Collectors.joining(" "));
+        }).collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,233 @@
+package com.taskmanager.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Bulk-loads a large, skewed dataset for RepositoryScaleBenchmark and ReadPathBenchmark
+//
+// Unlike DataSeeder (every user gets the same number of tasks), real data is lopsided:
+// a few power users own a large share of all tasks and most users own a handful.
+// Task owners are drawn from a Zipf distribution (the user with rank r gets a share
+// proportional to 1/r), so user 1 is the heaviest and the last user the lightest.
+// Tags get the same treatment: tag 1 is on far more tasks than the last tag.
+//
+// Tasks are generated in creation order with their owner drawn per task, so one user's
+// tasks are spread over the whole table (and the id index) like in production, not stored
+// as one contiguous block. Rows are streamed to the database in batches; nothing but the
+// batch being built is kept in memory, so millions of rows need no large heap on the client side.
+// Deterministic: the same seed and size give the same rows.
+class ScaleDataGenerator {
+
+    // Fixed instead of now(), so two runs on different days produce identical data
+    static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private static final int BATCH_SIZE = 5000;
+    private static final int TASKS_PER_USER = 100; // Average, the skew decides the actual counts
+    private static final int TASKS_PER_TAG = 2000;
+    private static final double USER_SKEW = 1.0; // Zipf exponent: higher = more lopsided
+    private static final double TAG_SKEW = 1.1;
+    private static final int DAYS_OF_HISTORY = 3 * 365;
+
+    private final JdbcTemplate jdbc;
+    private final String passwordHash;
+
+    ScaleDataGenerator(JdbcTemplate jdbc, String passwordHash) {
+        this.jdbc = jdbc;
+        this.passwordHash = passwordHash;
+    }
+
+    // Row counts of what was generated
+    static class Summary {
+        int users;
+        int tags;
+        long categories;
+        long tasks;
+        long taskTags;
+        long tombstones;
+        long millis;
+
+        @Override
+        public String toString() {
+            return String.format("%,d users, %,d tasks, %,d task_tags, %,d categories, %,d tags, %,d tombstones",
+                    users, tasks, taskTags, categories, tags, tombstones);
+        }
+    }
+
+    Summary generate(long taskCount, long seed) {
+        long start = System.currentTimeMillis();
+        Random random = new Random(seed);
+        Summary summary = new Summary();
+        summary.tasks = taskCount;
+        summary.users = (int) Math.max(10, taskCount / TASKS_PER_USER);
+        summary.tags = (int) Math.max(20, taskCount / TASKS_PER_TAG);
+        double[] userWeights = zipf(summary.users, USER_SKEW);
+        double[] tagWeights = zipf(summary.tags, TAG_SKEW);
+
+        Batch users = new Batch("INSERT INTO users (id, username, password, email, created_at) VALUES (?, ?, ?, ?, ?)");
+        for (int u = 1; u <= summary.users; u++) {
+            users.add(u, "user" + u, passwordHash, "user" + u + "@scale.local", ts(NOW.minusDays(DAYS_OF_HISTORY + 1)));
+        }
+        users.flush();
+
+        Batch tags = new Batch("INSERT INTO tags (id, name, created_at) VALUES (?, ?, ?)");
+        for (int t = 1; t <= summary.tags; t++) {
+            tags.add(t, DataSeeder.WORDS[(t - 1) % DataSeeder.WORDS.length] + "-" + t,
+                    ts(NOW.minusDays(DAYS_OF_HISTORY + 1).plusMinutes(t)));
+        }
+        tags.flush();
+
+        // Heavier users have more categories: 1 to 30, from the number of tasks they are expected to get.
+        // Category ids of user u are firstCategory[u] .. firstCategory[u + 1] - 1
+        long[] firstCategory = new long[summary.users + 2];
+        Batch categories = new Batch("INSERT INTO categories (id, name, color, description, created_at, updated_at,"
+                + " user_id) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        long categoryId = 1;
+        for (int u = 1; u <= summary.users; u++) {
+            firstCategory[u] = categoryId;
+            double expectedTasks = taskCount * (userWeights[u - 1] - (u == 1 ? 0 : userWeights[u - 2]));
+            int count = 1 + (int) Math.min(29, expectedTasks / 50);
+            for (int c = 0; c < count; c++) {
+                LocalDateTime created = NOW.minusDays(DAYS_OF_HISTORY - c);
+                categories.add(categoryId++, DataSeeder.WORDS[c % DataSeeder.WORDS.length] + " " + (c + 1),
+                        "#336699", null, ts(created), ts(created), u);
+            }
+        }
+        firstCategory[summary.users + 1] = categoryId;
+        categories.flush();
+        summary.categories = categoryId - 1;
+
+        Batch tasks = new Batch("INSERT INTO tasks (id, title, description, completed, created_at, updated_at,"
+                + " due_date, category_id, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        Batch taskTags = new Batch("INSERT INTO task_tags (task_id, tag_id) VALUES (?, ?)", tasks);
+        long historySeconds = DAYS_OF_HISTORY * 24L * 3600;
+        long[] chosenTags = new long[3];
+        for (long id = 1; id <= taskCount; id++) {
+            int user = pick(userWeights, random) + 1;
+            // Creation times grow with the id, like rows inserted over three years
+            LocalDateTime created = NOW.minusSeconds(historySeconds - historySeconds * id / taskCount);
+            LocalDateTime updated = min(created.plusHours(random.nextInt(24 * 30)), NOW);
+            boolean old = created.isBefore(NOW.minusDays(90));
+            boolean completed = random.nextInt(100) < (old ? 80 : 30); // Old tasks are mostly done
+            LocalDateTime due = random.nextInt(10) < 6 ? created.plusDays(1 + random.nextInt(30)) : null;
+            long categoryCount = firstCategory[user + 1] - firstCategory[user];
+            Long category = random.nextInt(5) > 0 ? firstCategory[user] + random.nextInt((int) categoryCount) : null;
+            tasks.add(id, DataSeeder.words(random, 4), DataSeeder.words(random, 12), completed,
+                    ts(created), ts(updated), due == null ? null : ts(due), category, user);
+
+            int tagCount = random.nextInt(4); // 0 to 3 tags
+            for (int i = 0; i < tagCount; i++) {
+                long tag = pick(tagWeights, random) + 1;
+                if (!contains(chosenTags, i, tag)) {
+                    chosenTags[i] = tag;
+                    taskTags.add(id, tag);
+                    summary.taskTags++;
+                } else {
+                    chosenTags[i] = 0;
+                }
+            }
+        }
+        taskTags.flush(); // Flushes the remaining tasks first
+
+        // Tombstones of tasks deleted in the last 90 days, about 1 per 20 live tasks
+        Batch tombstones = new Batch("INSERT INTO task_tombstones (id, task_id, user_id, deleted_at) VALUES (?, ?, ?, ?)");
+        summary.tombstones = taskCount / 20;
+        long ninetyDays = 90L * 24 * 3600;
+        for (long id = 1; id <= summary.tombstones; id++) {
+            tombstones.add(id, taskCount + id, pick(userWeights, random) + 1,
+                    ts(NOW.minusSeconds(ninetyDays - ninetyDays * id / summary.tombstones)));
+        }
+        tombstones.flush();
+
+        jdbc.update("UPDATE task_seq SET next_val = ?", taskCount + 50);
+        jdbc.update("UPDATE task_tombstone_seq SET next_val = ?", summary.tombstones + 50);
+        summary.millis = System.currentTimeMillis() - start;
+        return summary;
+    }
+
+    // Fresh optimizer statistics after the bulk load, otherwise plans are based on empty tables
+    static void analyze(JdbcTemplate jdbc) {
+        String database = jdbc.execute((Connection c) -> c.getMetaData().getDatabaseProductName());
+        if ("H2".equals(database)) {
+            jdbc.execute("ANALYZE");
+        } else {
+            jdbc.execute("ANALYZE TABLE users, categories, tags, tasks, task_tags, task_tombstones");
+        }
+    }
+
+    // Cumulative Zipf weights, normalised so the last entry is 1.0
+    private static double[] zipf(int size, double skew) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            sum += 1.0 / Math.pow(rank, skew);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    // Index drawn with the probabilities given by cumulative weights (binary search)
+    private static int pick(double[] cumulative, Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static Timestamp ts(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+
+    // Rows of one INSERT statement, sent as a JDBC batch every BATCH_SIZE rows
+    private class Batch {
+        private final String sql;
+        private final Batch parent; // Rows referenced by ours (foreign key), written before ours
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+
+        Batch(String sql) {
+            this(sql, null);
+        }
+
+        Batch(String sql, Batch parent) {
+            this.sql = sql;
+            this.parent = parent;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (!rows.isEmpty()) {
+                jdbc.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.service.ConflictRetry;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Many clients changing ONE task at the same time (optimistic locking: @Version + If-Match)
+//
+//   java -Dloader.main=com.taskmanager.loadtest.SingleTaskContention -jar loadtest/target/loadtest.jar
+//        threads=16 operations=50
+//
+// Starts the server like LoadTest (H2 by default, spring.* options go to the server), registers a
+// user with one task, then runs three rounds in which every thread sends `operations` requests for
+// that task, and checks the outcome:
+//   toggle    - PUT /toggle without If-Match: all succeed, the task ends at version N with
+//               completed = (N is odd), and GET /api/stats agrees (listeners got exact before/after states)
+//   if-match  - GET, then PATCH title n -> n+1 with If-Match, again after a 412: the title ends at
+//               exactly N, no increment was lost
+//   blind mix - PATCH without If-Match from half the threads, toggles from the others: only 200 and
+//               409 (a write that lost ConflictRetry.MAX_ATTEMPTS times in a row), no errors
+// Exits with status 1 if a check fails.
+public class SingleTaskContention {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private int threads = 16;
+    private int operations = 50; // Requests per thread and round
+    private final Map<String, Object> springProperties = new LinkedHashMap<>();
+
+    private HttpClient client;
+    private String baseUrl;
+    private String token;
+    private long taskId;
+    private boolean failed;
+
+    public static void main(String[] args) throws Exception {
+        SingleTaskContention test = new SingleTaskContention();
+        test.parse(args);
+        test.run();
+        System.exit(test.failed ? 1 : 0);
+    }
+
+    private void parse(String[] args) {
+        for (String arg : args) {
+            String pair = arg.startsWith("--") ? arg.substring(2) : arg;
+            int equals = pair.indexOf('=');
+            if (equals < 1) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            String key = pair.substring(0, equals);
+            String value = pair.substring(equals + 1);
+            if (key.startsWith("spring.") || key.startsWith("server.") || key.startsWith("logging.")) {
+                springProperties.put(key, value);
+                continue;
+            }
+            switch (key) {
+                case "threads": threads = Integer.parseInt(value); break;
+                case "operations": operations = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("Unknown option: " + key);
+            }
+        }
+    }
+
+    private void run() throws Exception {
+        ConfigurableApplicationContext context = LoadTest.startServer(springProperties);
+        try {
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            String email = "contention-" + System.currentTimeMillis() + "@example.com"; // New user on a reused database
+            token = json(send(request("/api/auth/register").POST(body("{\"username\":\"" + email
+                    + "\",\"email\":\"" + email + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}")), 201))
+                    .get("token").asText();
+            taskId = json(send(authorized("/api/tasks").POST(body("{\"title\":\"0\"}")), 201)).get("id").asLong();
+            int total = threads * operations;
+            System.out.printf("%d threads x %d requests on task %d%n%n", threads, operations, taskId);
+            System.out.println("| Round | Responses | Check |");
+            System.out.println("|---|---|---|");
+
+            // Round 1: blind toggles
+            long versionBefore = task().get("version").asLong();
+            boolean completedBefore = task().get("completed").asBoolean();
+            Map<Integer, Integer> statuses = round(thread -> toggle());
+            JsonNode task = task();
+            long completedInStats = json(send(authorized("/api/stats").GET(), 200)).get("completed").asLong();
+            check("toggle", statuses, statuses.getOrDefault(200, 0) == total
+                    && task.get("version").asLong() == versionBefore + total
+                    && task.get("completed").asBoolean() == (completedBefore ^ (total % 2 == 1))
+                    && completedInStats == (task.get("completed").asBoolean() ? 1 : 0),
+                    "version " + task.get("version").asLong() + ", completed " + task.get("completed").asBoolean()
+                            + ", stats completed " + completedInStats);
+
+            // Round 2: read-modify-write with If-Match
+            statuses = round(thread -> increment());
+            String title = task().get("title").asText();
+            check("if-match", statuses, title.equals(String.valueOf(total)), "title " + title + " (expected " + total + ")");
+
+            // Round 3: blind PATCHes against toggles
+            statuses = round(thread -> thread % 2 == 0 ? patch(thread) : toggle());
+            check("blind mix", statuses, statuses.keySet().stream().allMatch(status -> status == 200 || status == 409),
+                    "only 200/409; 409 = lost " + ConflictRetry.MAX_ATTEMPTS + " attempts in a row");
+        } finally {
+            context.close();
+        }
+    }
+
+    private interface Operation {
+        // One request of the round, returns its final status
+        int apply(int thread) throws Exception;
+    }
+
+    // Every thread applies the operation `operations` times, returns how often each status came back
+    // (the if-match round also counts the 412s it retried)
+    private Map<Integer, Integer> round(Operation operation) throws Exception {
+        Map<Integer, Integer> statuses = new TreeMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Map<Integer, Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                results.add(pool.submit(() -> {
+                    Map<Integer, Integer> counts = new TreeMap<>();
+                    for (int j = 0; j < operations; j++) {
+                        int status = operation.apply(thread);
+                        if (status < 0) { // increment(): -(number of 412s) before the 200
+                            counts.merge(412, -status, Integer::sum);
+                            status = 200;
+                        }
+                        counts.merge(status, 1, Integer::sum);
+                    }
+                    return counts;
+                }));
+            }
+            for (Future<Map<Integer, Integer>> result : results) {
+                result.get().forEach((status, count) -> statuses.merge(status, count, Integer::sum));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return statuses;
+    }
+
+    private int toggle() throws IOException, InterruptedException {
+        return send(authorized("/api/tasks/" + taskId + "/toggle").PUT(HttpRequest.BodyPublishers.noBody()), -1)
+                .statusCode();
+    }
+
+    private int patch(int thread) throws IOException, InterruptedException {
+        return send(authorized("/api/tasks/" + taskId).method("PATCH",
+                body("{\"description\":\"thread " + thread + "\"}")), -1).statusCode();
+    }
+
+    // Title n -> n+1 based on the version that was read; a 412 means someone else got there first:
+    // read again and retry. Returns 200, or -(412s seen) if it needed retries
+    private int increment() throws IOException, InterruptedException {
+        int conflicts = 0;
+        while (true) {
+            HttpResponse<String> read = send(authorized("/api/tasks/" + taskId).GET(), 200);
+            long next = Long.parseLong(json(read).get("title").asText()) + 1;
+            HttpResponse<String> write = send(authorized("/api/tasks/" + taskId)
+                    .header("If-Match", read.headers().firstValue("ETag").orElseThrow())
+                    .method("PATCH", body("{\"title\":\"" + next + "\"}")), -1);
+            if (write.statusCode() == 200) {
+                return conflicts == 0 ? 200 : -conflicts;
+            }
+            if (write.statusCode() != 412) {
+                throw new IllegalStateException("PATCH with If-Match: " + write.statusCode() + " " + write.body());
+            }
+            conflicts++;
+        }
+    }
+
+    private JsonNode task() throws IOException, InterruptedException {
+        return json(send(authorized("/api/tasks/" + taskId).GET(), 200));
+    }
+
+    private void check(String round, Map<Integer, Integer> statuses, boolean ok, String detail) {
+        failed |= !ok;
+        System.out.printf("| %s | %s | %s: %s |%n", round, statuses, ok ? "OK" : "FAILED", detail);
+    }
+
+    // expected = -1: any status
+    private HttpResponse<String> send(HttpRequest.Builder request, int expected)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (expected >= 0 && response.statusCode() != expected) {
+            throw new IllegalStateException(request.build().uri() + ": " + response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return request(path).header("Authorization", "Bearer " + token);
+    }
+
+    private static HttpRequest.BodyPublisher body(String json) {
+        return HttpRequest.BodyPublishers.ofString(json);
+    }
+
+    private static JsonNode json(HttpResponse<String> response) throws IOException {
+        return JSON.readTree(response.body());
+    }
+}
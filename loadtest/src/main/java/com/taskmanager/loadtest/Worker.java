@@ -0,0 +1,181 @@
+package com.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// One simulated client: logs in as its user, then sends a random mix of API calls until the end
+//
+// Closed loop (rate=0): the next request goes out as soon as the previous answer arrives.
+// Open loop (rate>0): requests are scheduled at fixed intervals and latency is measured from the
+// SCHEDULED time, so when the server stalls, the requests that would have been sent meanwhile
+// count as waiting too ("coordinated omission": without this a 2s stall shows up as one slow
+// request instead of hundreds).
+class Worker implements Runnable {
+
+    // Share of each call in the mix (out of 100), roughly what the web client does
+    private static final String[] MIX = {
+        "list", "list", "list", "list", "list", "list", "list",          // 35% GET /api/tasks?limit=50
+        "incomplete", "incomplete",                                        // 10% GET /api/tasks/incomplete?limit=50
+        "get", "get",                                                      // 10% GET /api/tasks/{id}
+        "search", "search",                                                // 10% GET /api/tasks/search
+        "create", "create",                                                // 10% POST /api/tasks
+        "update", "update",                                                // 10% PUT /api/tasks/{id}
+        "toggle", "toggle",                                                // 10% PUT /api/tasks/{id}/toggle
+        "delete"                                                           //  5% DELETE /api/tasks/{id} (own creations)
+    };
+    private static final int LOGIN_PERCENT = 2; // On top of the mix: log in again now and then
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final DataSeeder.SeededUser user;
+    private final LatencyReport report;
+    private final Random random;
+    private final long measureStart; // nanoTime when recording starts (end of warm-up)
+    private final long end;
+    private final long intervalNanos; // Time between two scheduled requests, 0 = closed loop
+
+    private String token;
+    private final List<Long> created = new ArrayList<>(); // Tasks this worker created, the only ones it deletes
+
+    Worker(HttpClient client, String baseUrl, DataSeeder.SeededUser user, LatencyReport report, long seed,
+            long measureStart, long end, long intervalNanos) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.user = user;
+        this.report = report;
+        this.random = new Random(seed);
+        this.measureStart = measureStart;
+        this.end = end;
+        this.intervalNanos = intervalNanos;
+    }
+
+    @Override
+    public void run() {
+        try {
+            login();
+            long next = System.nanoTime();
+            while (true) {
+                if (intervalNanos > 0) {
+                    next += intervalNanos;
+                    long wait = next - System.nanoTime();
+                    if (wait > 0) {
+                        Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                    }
+                } else {
+                    next = System.nanoTime();
+                }
+                if (next >= end) {
+                    return;
+                }
+                if (random.nextInt(100) < LOGIN_PERCENT) {
+                    login(next);
+                } else {
+                    call(MIX[random.nextInt(MIX.length)], next);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new IllegalStateException("Request failed: " + e.getMessage(), e);
+        }
+    }
+
+    private void login() throws IOException, InterruptedException {
+        login(System.nanoTime());
+    }
+
+    private void login(long scheduled) throws IOException, InterruptedException {
+        String body = "{\"email\":\"" + user.email + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}";
+        HttpResponse<String> response = send("login", scheduled, request("/api/auth/login")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + user.email + ": " + response.body());
+        }
+        token = JSON.readTree(response.body()).get("token").asText();
+    }
+
+    private void call(String operation, long scheduled) throws IOException, InterruptedException {
+        long taskId = user.taskIds[random.nextInt(user.taskIds.length)]; // Seeded tasks are never deleted
+        switch (operation) {
+            case "list":
+                send("GET tasks", scheduled, authorized("/api/tasks?limit=50").GET());
+                break;
+            case "incomplete":
+                send("GET incomplete", scheduled, authorized("/api/tasks/incomplete?limit=50").GET());
+                break;
+            case "get":
+                send("GET task", scheduled, authorized("/api/tasks/" + taskId).GET());
+                break;
+            case "search":
+                String keyword = DataSeeder.WORDS[random.nextInt(DataSeeder.WORDS.length)];
+                send("GET search", scheduled, authorized("/api/tasks/search?keyword=" + keyword).GET());
+                break;
+            case "create":
+                HttpResponse<String> response = send("POST task", scheduled, authorized("/api/tasks")
+                        .POST(HttpRequest.BodyPublishers.ofString(taskJson())));
+                if (response.statusCode() == 201) {
+                    created.add(JSON.readTree(response.body()).get("id").asLong());
+                }
+                break;
+            case "update":
+                send("PUT task", scheduled, authorized("/api/tasks/" + taskId)
+                        .PUT(HttpRequest.BodyPublishers.ofString(taskJson())));
+                break;
+            case "toggle":
+                send("PUT toggle", scheduled, authorized("/api/tasks/" + taskId + "/toggle")
+                        .PUT(HttpRequest.BodyPublishers.noBody()));
+                break;
+            case "delete":
+                if (created.isEmpty()) {
+                    call("create", scheduled); // Nothing of our own to delete yet
+                    return;
+                }
+                long id = created.remove(created.size() - 1);
+                send("DELETE task", scheduled, authorized("/api/tasks/" + id).DELETE());
+                break;
+            default:
+                throw new IllegalArgumentException(operation);
+        }
+    }
+
+    private String taskJson() {
+        JsonNode task = JSON.createObjectNode()
+                .put("title", DataSeeder.words(random, 4))
+                .put("description", DataSeeder.words(random, 12))
+                .put("categoryId", user.categoryIds.length == 0 ? null
+                        : user.categoryIds[random.nextInt(user.categoryIds.length)]);
+        return task.toString();
+    }
+
+    private HttpResponse<String> send(String endpoint, long scheduled, HttpRequest.Builder builder)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        long now = System.nanoTime();
+        if (scheduled >= measureStart) {
+            report.record(endpoint, (now - scheduled) / 1000, response.statusCode());
+        }
+        return response;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return request(path).header("Authorization", "Bearer " + token);
+    }
+}
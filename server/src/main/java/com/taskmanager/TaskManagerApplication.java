@@ -2,8 +2,10 @@ package com.taskmanager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication // Enables auto-configuration, component scanning, and config
+@EnableScheduling // Runs @Scheduled jobs (e.g. tombstone purge)
 public class TaskManagerApplication {
 
     public static void main(String[] args) {
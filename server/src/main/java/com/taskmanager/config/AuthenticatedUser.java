@@ -0,0 +1,25 @@
+package com.taskmanager.config;
+
+import java.security.Principal; // So authentication.getName() returns the username
+
+// Lightweight principal that JwtAuthFilter puts into the SecurityContext
+// Everything comes from the verified JWT claims, so building it needs no database query
+public class AuthenticatedUser implements Principal {
+
+    private final Long id; // User id (from the "uid" claim)
+    private final String username; // Username (from the token subject)
+
+    public AuthenticatedUser(Long id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+
+    @Override
+    public String getName() { return username; }
+
+    @Override
+    public String toString() { return username; }
+}
@@ -22,10 +22,12 @@ public class CorsConfig {
         config.addAllowedMethod("GET");
         config.addAllowedMethod("POST");
         config.addAllowedMethod("PUT");
+        config.addAllowedMethod("PATCH"); // Partial task updates
         config.addAllowedMethod("DELETE");
         config.addAllowedMethod("OPTIONS"); // Preflight requests
 
-        config.addAllowedHeader("*"); // Allow all headers
+        config.addAllowedHeader("*"); // Allow all headers (incl. If-None-Match, If-Match)
+        config.addExposedHeader("ETag"); // Let the frontend read ETags (listings, task/category versions)
         config.setAllowCredentials(true); // Allow cookies/auth
 
         // Apply CORS config to all /api/* endpoints
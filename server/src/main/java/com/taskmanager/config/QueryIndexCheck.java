@@ -0,0 +1,165 @@
+package com.taskmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Startup check that every TaskRepository / CategoryRepository / TaskTombstoneRepository
+// query (and TaskChangeSequence's statements) can use an index (enabled with taskmanager.query-index-check=true, MySQL only).
+//
+// Each query is written out below as the SQL Hibernate sends for it and run through EXPLAIN.
+// A row with type ALL (full table scan) or index (full index scan) and no possible_keys
+// means no index fits the WHERE / ORDER BY, so startup fails with the list of such queries.
+// possible_keys is checked instead of the chosen key: on a small test database MySQL may
+// prefer a scan even when a good index exists.
+//
+// When you add or change a repository query, add it here too.
+@Component
+@ConditionalOnProperty(name = "taskmanager.query-index-check", havingValue = "true")
+public class QueryIndexCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryIndexCheck.class);
+
+    // Any value works for EXPLAIN, these just keep the statements valid
+    // (user 1 is also the heaviest user of the scale benchmark's generated data)
+    private static final String USER = "1";
+    private static final String TIME = "'2024-01-01 00:00:00'";
+
+    // Repository method -> equivalent SQL
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        String task = "SELECT t.* FROM tasks t LEFT JOIN categories c ON c.id = t.category_id ";
+        // Columns of the TaskDTO projection queries
+        String taskDto = "SELECT t.id, t.title, t.description, t.completed, t.created_at, t.updated_at,"
+                + " t.due_date, c.id, c.name, c.color, t.version"
+                + " FROM tasks t LEFT JOIN categories c ON c.id = t.category_id ";
+        QUERIES.put("TaskRepository.findByUserIdOrderByCreatedAtDesc",
+                taskDto + "WHERE t.user_id = " + USER + " ORDER BY t.created_at DESC");
+        QUERIES.put("TaskRepository.findByUserIdAndTitleContainingIgnoreCase",
+                taskDto + "WHERE t.user_id = " + USER + " AND LOCATE(UPPER('milk'), UPPER(t.title)) > 0");
+        QUERIES.put("TaskRepository.findByUserIdAndCompletedFalseOrderByCreatedAtDesc",
+                taskDto + "WHERE t.user_id = " + USER + " AND t.completed = FALSE ORDER BY t.created_at DESC");
+        QUERIES.put("TaskRepository.findDTOByIdAndUserId",
+                taskDto + "WHERE t.id = 1 AND t.user_id = " + USER);
+        QUERIES.put("TaskRepository.findByUserIdOrderByCreatedAtDescIdDesc",
+                taskDto + "WHERE t.user_id = " + USER + " ORDER BY t.created_at DESC, t.id DESC LIMIT 50");
+        QUERIES.put("TaskRepository.findPageAfter",
+                taskDto + "WHERE t.user_id = " + USER
+                        + " AND (t.created_at < " + TIME + " OR (t.created_at = " + TIME + " AND t.id < 100))"
+                        + " ORDER BY t.created_at DESC, t.id DESC LIMIT 50");
+        QUERIES.put("TaskRepository.findByUserIdAndCompletedFalseOrderByCreatedAtDescIdDesc",
+                taskDto + "WHERE t.user_id = " + USER + " AND t.completed = FALSE"
+                        + " ORDER BY t.created_at DESC, t.id DESC LIMIT 50");
+        QUERIES.put("TaskRepository.findIncompletePageAfter",
+                taskDto + "WHERE t.user_id = " + USER + " AND t.completed = FALSE"
+                        + " AND (t.created_at < " + TIME + " OR (t.created_at = " + TIME + " AND t.id < 100))"
+                        + " ORDER BY t.created_at DESC, t.id DESC LIMIT 50");
+        QUERIES.put("TaskRepository.findDTOsByUserIdAndIdIn",
+                taskDto + "WHERE t.user_id = " + USER + " AND t.id IN (1, 2, 3)");
+        QUERIES.put("TaskRepository.findTagRows",
+                "SELECT tt.task_id, g.id, g.name, g.created_at FROM task_tags tt JOIN tags g ON g.id = tt.tag_id"
+                        + " WHERE tt.task_id IN (1, 2, 3)");
+        QUERIES.put("TaskRepository.findByUserIdAndIdIn",
+                task + "WHERE t.user_id = " + USER + " AND t.id IN (1, 2, 3)");
+        QUERIES.put("TaskRepository.findByIdGreaterThanOrderByIdAsc",
+                "SELECT * FROM tasks WHERE id > 100 ORDER BY id LIMIT 500");
+        QUERIES.put("TaskRepository.findByIdIn",
+                task + "WHERE t.id IN (1, 2, 3)");
+        QUERIES.put("TaskRepository.fetchTags",
+                "SELECT t.*, g.* FROM tasks t LEFT JOIN task_tags tt ON tt.task_id = t.id"
+                        + " LEFT JOIN tags g ON g.id = tt.tag_id WHERE t.id IN (1, 2, 3)");
+        QUERIES.put("TaskRepository.streamAllByUserId",
+                "SELECT t.*, c.*, g.* FROM tasks t LEFT JOIN categories c ON c.id = t.category_id"
+                        + " LEFT JOIN task_tags tt ON tt.task_id = t.id LEFT JOIN tags g ON g.id = tt.tag_id"
+                        + " WHERE t.user_id = " + USER + " ORDER BY t.id");
+        QUERIES.put("TaskRepository.findChangedAfter",
+                task + "WHERE t.user_id = " + USER
+                        + " AND (t.change_seq > 10 OR (t.change_seq = 10 AND t.id > 100))"
+                        + " ORDER BY t.change_seq, t.id LIMIT 500");
+        QUERIES.put("TaskRepository.toggleCompleted",
+                "UPDATE tasks SET completed = NOT completed, updated_at = " + TIME + ", version = version + 1"
+                        + " WHERE id = 1 AND user_id = " + USER);
+        QUERIES.put("TaskRepository.deleteByIdAndUserId",
+                "DELETE FROM tasks WHERE id = 1 AND user_id = " + USER + " AND version = 0");
+        QUERIES.put("TaskRepository.lockIdsByCategoryId",
+                "SELECT id FROM tasks WHERE category_id = 1 FOR UPDATE");
+        QUERIES.put("TaskRepository.detachFromCategory",
+                "UPDATE tasks SET category_id = NULL, updated_at = " + TIME + ", version = version + 1"
+                        + " WHERE category_id = 1");
+        QUERIES.put("TaskRepository.findIdsByTagId",
+                "SELECT task_id FROM task_tags WHERE tag_id = 1");
+        QUERIES.put("TaskRepository.lockOwnersByIds",
+                "SELECT id, user_id FROM tasks WHERE id IN (1, 2, 3) FOR UPDATE");
+        QUERIES.put("TaskRepository.countByCategoryAndCompleted",
+                "SELECT category_id, completed, COUNT(*) FROM tasks WHERE user_id = " + USER
+                        + " GROUP BY category_id, completed");
+        QUERIES.put("TaskRepository.countByCategory",
+                "SELECT category_id, COUNT(*), SUM(CASE WHEN completed = TRUE THEN 1 ELSE 0 END) FROM tasks"
+                        + " WHERE user_id = " + USER + " AND category_id IS NOT NULL GROUP BY category_id");
+        QUERIES.put("TaskRepository.findUpcomingDueDates",
+                "SELECT due_date FROM tasks WHERE user_id = " + USER + " AND completed = FALSE"
+                        + " AND due_date >= " + TIME);
+        QUERIES.put("CategoryRepository.findByUserIdOrderByCreatedAtDesc",
+                "SELECT * FROM categories WHERE user_id = " + USER + " ORDER BY created_at DESC");
+        QUERIES.put("CategoryRepository.findDTOsByUserIdOrderByCreatedAtDesc",
+                "SELECT id, name, color, description, created_at, updated_at, version FROM categories WHERE user_id = "
+                        + USER + " ORDER BY created_at DESC");
+        QUERIES.put("CategoryRepository.deleteByIdAndUserId",
+                "DELETE FROM categories WHERE id = 1 AND user_id = " + USER + " AND version = 0");
+        QUERIES.put("CategoryRepository.findByUserIdAndNameContainingIgnoreCase",
+                "SELECT * FROM categories WHERE user_id = " + USER + " AND UPPER(name) LIKE UPPER('%work%')");
+        QUERIES.put("TaskTombstoneRepository.findAfter",
+                "SELECT * FROM task_tombstones WHERE user_id = " + USER
+                        + " AND (change_seq > 10 OR (change_seq = 10 AND id > 100))"
+                        + " ORDER BY change_seq, id LIMIT 500");
+        QUERIES.put("TaskTombstoneRepository.deleteOlderThan",
+                "DELETE FROM task_tombstones WHERE deleted_at < " + TIME);
+        // next() is an INSERT ... ON DUPLICATE KEY UPDATE on the primary key, which EXPLAIN reports
+        // as a full scan; the read of the same row is checked instead
+        QUERIES.put("TaskChangeSequence.current",
+                "SELECT last_seq FROM task_change_seq WHERE user_id = " + USER);
+        QUERIES.put("TaskChangeSequence.stamp (tasks)",
+                "UPDATE tasks SET change_seq = 10 WHERE id IN (1, 2, 3)");
+        QUERIES.put("TaskChangeSequence.stamp (tombstones)",
+                "UPDATE task_tombstones SET change_seq = 10 WHERE task_id IN (1, 2, 3)");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public QueryIndexCheck(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // The queries above, also run by the repository scale benchmark (loadtest module)
+    public static Map<String, String> queries() {
+        return Collections.unmodifiableMap(QUERIES);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        List<String> scans = new ArrayList<>();
+        for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+            for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + query.getValue())) {
+                Object type = row.get("type");
+                if (("ALL".equals(type) || "index".equals(type)) && row.get("possible_keys") == null) {
+                    scans.add(query.getKey() + " scans " + row.get("table"));
+                }
+            }
+        }
+        if (!scans.isEmpty()) {
+            throw new IllegalStateException("Queries without a usable index: " + scans);
+        }
+        log.info("Query index check passed: {} queries", QUERIES.size());
+    }
+}
@@ -0,0 +1,42 @@
+package com.taskmanager.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Logback filter that lets through 1 out of every N lines of one logger
+// Used on Hibernate's slow-query logger in production (logback-spring.xml): when the
+// database is struggling, every query is slow, and logging all of them would only add
+// more load. A turbo filter runs before the log line is even built, so dropped lines cost
+// a name comparison and a counter increment.
+public class SlowQueryLogSampler extends TurboFilter {
+
+    private String loggerName = "org.hibernate.SQL_SLOW";
+    private int sampleEvery = 1; // 1 = keep everything
+    private final AtomicLong seen = new AtomicLong();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || !loggerName.equals(logger.getName())) {
+            return FilterReply.NEUTRAL; // Not our logger: let the normal levels decide
+        }
+        if (format == null) {
+            return FilterReply.NEUTRAL; // An isInfoEnabled() check, not a log line: don't count it
+        }
+        return seen.getAndIncrement() % sampleEvery == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    // Setters are called by logback with the values from logback-spring.xml
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = Math.max(1, sampleEvery);
+    }
+}
@@ -0,0 +1,24 @@
+package com.taskmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+
+@Configuration // Spring MVC settings
+public class WebConfig implements WebMvcConfigurer {
+
+    // The listings answer If-None-Match with 304 (see ListingVersions)
+    // Spring Security sends "Cache-Control: no-store" by default, which stops browsers from
+    // keeping the response and revalidating it. "private, no-cache" means: keep it, but ask
+    // the server (with If-None-Match) every time before using it. Security leaves the header
+    // alone when it is already set.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        WebContentInterceptor interceptor = new WebContentInterceptor();
+        interceptor.addCacheMapping(CacheControl.noCache().cachePrivate(),
+                "/api/tasks", "/api/tasks/incomplete", "/api/categories", "/api/tags");
+        registry.addInterceptor(interceptor);
+    }
+}
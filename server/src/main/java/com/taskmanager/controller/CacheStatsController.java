@@ -0,0 +1,27 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.CacheRegionStatsDTO;
+import com.taskmanager.service.CacheStatsService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController // Handles HTTP requests and returns JSON
+@RequestMapping("/api/cache") // Base URL: /api/cache (needs a logged-in user, see SecurityConfig)
+public class CacheStatsController {
+
+    private final CacheStatsService cacheStatsService;
+
+    // Constructor injection
+    public CacheStatsController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    // Hit/miss counters of the second-level cache, one entry per region
+    @GetMapping("/stats")
+    public List<CacheRegionStatsDTO> getCacheStats() {
+        return cacheStatsService.getRegionStats();
+    }
+}
@@ -2,50 +2,61 @@ package com.taskmanager.controller;
 
 import com.taskmanager.dto.CategoryDTO;
 import com.taskmanager.service.CategoryService;
+import com.taskmanager.service.ListingVersions;
+import com.taskmanager.service.VersionConflictException;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 import com.taskmanager.entity.User;
-import com.taskmanager.repository.UserRepository;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.taskmanager.service.CurrentUserService;
 
 @RestController // Handles HTTP requests and returns JSON
 @RequestMapping("/api/categories") // Base URL: /api/categories
 public class CategoryController {
 
     private final CategoryService categoryService;
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+    private final ListingVersions listingVersions;
 
     // Constructor injection
-    public CategoryController(CategoryService categoryService, UserRepository userRepository) {
+    public CategoryController(CategoryService categoryService, CurrentUserService currentUserService,
+            ListingVersions listingVersions) {
         this.categoryService = categoryService;
-        this.userRepository = userRepository;
+        this.currentUserService = currentUserService;
+        this.listingVersions = listingVersions;
     }
 
-    // Helper to get authenticated user
+    // Helper to get authenticated user (id comes from the JWT, entity from the user cache)
     private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return currentUserService.getCurrentUser();
     }
 
     // Get all categories
+    // ?counts=true adds taskCount and completedCount to each category
+    // Answers 304 Not Modified (without querying) if If-None-Match holds the current ETag
     @GetMapping
-    public List<CategoryDTO> getAllCategories() {
-        return categoryService.getAllCategories(getCurrentUser());
+    public List<CategoryDTO> getAllCategories(@RequestParam(defaultValue = "false") boolean counts,
+            WebRequest request) {
+        Long userId = currentUserService.getCurrentUserId();
+        String eTag = counts ? listingVersions.categoryCountsETag(userId) : listingVersions.categoryETag(userId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return categoryService.getAllCategories(getCurrentUser(), counts);
     }
 
     // Get category by ID
+    // The ETag is the category's version: send it back in If-Match with PUT/DELETE
     @GetMapping("/{id}")
     public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id) {
         CategoryDTO category = categoryService.getCategoryById(id, getCurrentUser());
         if (category != null) {
-            return ResponseEntity.ok(category);
+            return ResponseEntity.ok().eTag(String.valueOf(category.getVersion())).body(category);
         }
         return ResponseEntity.notFound().build();
     }
@@ -58,22 +69,39 @@ public class CategoryController {
     }
 
     // Update existing category
+    // With If-Match only if the category is still at that version (412 otherwise), like tasks
     @PutMapping("/{id}")
-    public ResponseEntity<CategoryDTO> updateCategory(@PathVariable Long id, @RequestBody CategoryDTO categoryDTO) {
-        CategoryDTO updatedCategory = categoryService.updateCategory(id, categoryDTO, getCurrentUser());
-        if (updatedCategory != null) {
-            return ResponseEntity.ok(updatedCategory);
+    public ResponseEntity<?> updateCategory(@PathVariable Long id, @RequestBody CategoryDTO categoryDTO,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        try {
+            CategoryDTO updatedCategory = categoryService.updateCategory(id, categoryDTO, getCurrentUser(),
+                    VersionTags.ifMatchVersion(ifMatch));
+            if (updatedCategory != null) {
+                return ResponseEntity.ok().eTag(String.valueOf(updatedCategory.getVersion())).body(updatedCategory);
+            }
+            return ResponseEntity.notFound().build();
+        } catch (VersionConflictException e) {
+            return VersionTags.preconditionFailed(e);
+        } catch (ConcurrencyFailureException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
         }
-        return ResponseEntity.notFound().build();
     }
 
-    // Delete category by ID
+    // Delete category by ID (If-Match works like for updates), its tasks are kept without a category
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
-        boolean deleted = categoryService.deleteCategory(id, getCurrentUser());
-        if (deleted) {
-            return ResponseEntity.noContent().build();
+    public ResponseEntity<?> deleteCategory(@PathVariable Long id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        try {
+            boolean deleted = categoryService.deleteCategory(id, getCurrentUser(),
+                    VersionTags.ifMatchVersion(ifMatch));
+            if (deleted) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.notFound().build();
+        } catch (VersionConflictException e) {
+            return VersionTags.preconditionFailed(e);
+        } catch (ConcurrencyFailureException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
         }
-        return ResponseEntity.notFound().build();
     }
 }
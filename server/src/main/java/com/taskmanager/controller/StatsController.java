@@ -0,0 +1,28 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.TaskStatsDTO;
+import com.taskmanager.service.CurrentUserService;
+import com.taskmanager.service.TaskStatsService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController // Handles HTTP requests and returns JSON
+@RequestMapping("/api/stats") // Base URL: /api/stats
+public class StatsController {
+
+    private final TaskStatsService taskStatsService;
+    private final CurrentUserService currentUserService;
+
+    // Constructor injection
+    public StatsController(TaskStatsService taskStatsService, CurrentUserService currentUserService) {
+        this.taskStatsService = taskStatsService;
+        this.currentUserService = currentUserService;
+    }
+
+    // Dashboard numbers: total, completed, incomplete, overdue and per category
+    @GetMapping
+    public TaskStatsDTO getStats() {
+        return taskStatsService.getStats(currentUserService.getCurrentUser());
+    }
+}
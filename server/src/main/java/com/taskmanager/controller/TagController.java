@@ -1,10 +1,12 @@
 package com.taskmanager.controller;
 
 import com.taskmanager.dto.TagDTO;
+import com.taskmanager.service.ListingVersions;
 import com.taskmanager.service.TagService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,17 +16,31 @@ import java.util.List;
 public class TagController {
  
     private final TagService tagService; // Service file that handles business logic and data access
+    private final ListingVersions listingVersions; // ETag of the tag listing
         // Constructor injection - Spring auto-injects TagService
-        public TagController(TagService tagService) {
+        public TagController(TagService tagService, ListingVersions listingVersions) {
             this.tagService = tagService;
+            this.listingVersions = listingVersions;
         }
 
         // Get all tags
+        // Answers 304 Not Modified (without querying) if If-None-Match holds the current ETag
         @GetMapping
-        public List<TagDTO> getAllTags() {
+        public List<TagDTO> getAllTags(WebRequest request) {
+            if (request.checkNotModified(listingVersions.tagETag())) {
+                return null;
+            }
             return tagService.getAllTags();
         }
 
+        // Autocomplete: GET /api/tags/suggest?prefix=wo -> tags starting with "wo" (case-insensitive)
+        // Answered from memory (TagCatalog), no database access
+        @GetMapping("/suggest")
+        public List<TagDTO> suggestTags(@RequestParam(defaultValue = "") String prefix,
+                @RequestParam(defaultValue = "10") int limit) {
+            return tagService.suggestTags(prefix, limit);
+        }
+
         // Get tag by ID
         @GetMapping("/{id}")
         public ResponseEntity<TagDTO> getTagById(@PathVariable Long id) {
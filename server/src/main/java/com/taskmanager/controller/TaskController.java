@@ -1,17 +1,35 @@
 package com.taskmanager.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.TaskBatchOperationDTO;
 import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskImportReportDTO;
+import com.taskmanager.dto.TaskPatchDTO;
+import com.taskmanager.service.ListingVersions;
+import com.taskmanager.service.TaskEventBroadcaster;
+import com.taskmanager.service.TaskBatchService;
+import com.taskmanager.service.TaskExportService;
+import com.taskmanager.service.TaskImportService;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.service.TaskSyncService;
+import com.taskmanager.service.VersionConflictException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import com.taskmanager.entity.User;
-import com.taskmanager.repository.UserRepository;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.taskmanager.service.CurrentUserService;
 
 @RestController // Handles HTTP requests and returns JSON
 @RequestMapping("/api/tasks") // Base URL: /api/tasks
@@ -19,32 +37,69 @@ import org.springframework.security.core.context.SecurityContextHolder;
 public class TaskController {
 
     private final TaskService taskService;
-    private final UserRepository userRepository;
+    private final TaskBatchService taskBatchService;
+    private final TaskImportService taskImportService;
+    private final TaskExportService taskExportService;
+    private final TaskSyncService taskSyncService;
+    private final TaskEventBroadcaster taskEventBroadcaster;
+    private final CurrentUserService currentUserService;
+    private final ListingVersions listingVersions;
+    private final ObjectMapper objectMapper;
 
     // Constructor injection
-    public TaskController(TaskService taskService, UserRepository userRepository) {
+    public TaskController(TaskService taskService, TaskBatchService taskBatchService,
+            TaskImportService taskImportService, TaskExportService taskExportService, TaskSyncService taskSyncService,
+            TaskEventBroadcaster taskEventBroadcaster, CurrentUserService currentUserService,
+            ListingVersions listingVersions, ObjectMapper objectMapper) {
         this.taskService = taskService;
-        this.userRepository = userRepository;
+        this.taskBatchService = taskBatchService;
+        this.taskImportService = taskImportService;
+        this.taskExportService = taskExportService;
+        this.taskSyncService = taskSyncService;
+        this.taskEventBroadcaster = taskEventBroadcaster;
+        this.currentUserService = currentUserService;
+        this.listingVersions = listingVersions;
+        this.objectMapper = objectMapper;
     }
 
-    // Helper to get authenticated user
+    // Helper to get authenticated user (id comes from the JWT, entity from the user cache)
     private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return currentUserService.getCurrentUser();
     }
 
+    // GET /api/tasks                          -> every task (original behaviour)
+    // GET /api/tasks?limit=50                 -> first page { items, nextCursor }
+    // GET /api/tasks?limit=50&cursor=<next>   -> following page
+    // Responses carry an ETag; sending it back in If-None-Match gets 304 if nothing changed
     @GetMapping
-    public List<TaskDTO> getAllTasks() {
-        return taskService.getAllTasks(getCurrentUser());
+    public ResponseEntity<?> getAllTasks(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit, WebRequest request) {
+        if (isTaskListingUnchanged(request)) {
+            return null; // 304 Not Modified, no query was run
+        }
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok(taskService.getAllTasks(getCurrentUser()));
+        }
+        try {
+            return ResponseEntity.ok(taskService.getTasksPage(getCurrentUser(), cursor, limit));
+        } catch (IllegalArgumentException e) {
+            // Return 400 Bad Request if the cursor was not one we issued
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Sets the ETag header and returns true if the client's If-None-Match still matches
+    // Only needs the user id from the JWT, so a 304 costs no database access at all
+    private boolean isTaskListingUnchanged(WebRequest request) {
+        return request.checkNotModified(listingVersions.taskETag(currentUserService.getCurrentUserId()));
     }
 
+    // The ETag is the task's version: send it back in If-Match when changing the task
     @GetMapping("/{id}")
     public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id) {
         TaskDTO task = taskService.getTaskById(id, getCurrentUser());
         if (task != null) {
-            return ResponseEntity.ok(task);
+            return ResponseEntity.ok().eTag(String.valueOf(task.getVersion())).body(task);
         }
         return ResponseEntity.notFound().build();
     }
@@ -54,9 +109,43 @@ public class TaskController {
         return taskService.searchTasks(keyword, getCurrentUser());
     }
 
+    // Same paging and ETag rules as GET /api/tasks
     @GetMapping("/incomplete")
-    public List<TaskDTO> getIncompleteTasks() {
-        return taskService.getIncompleteTasks(getCurrentUser());
+    public ResponseEntity<?> getIncompleteTasks(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit, WebRequest request) {
+        if (isTaskListingUnchanged(request)) {
+            return null;
+        }
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok(taskService.getIncompleteTasks(getCurrentUser()));
+        }
+        try {
+            return ResponseEntity.ok(taskService.getIncompleteTasksPage(getCurrentUser(), cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Only what changed since the token: GET /api/tasks/changes?since=<nextToken of the last call>
+    // Without since: every task, then keep calling with the returned token
+    // 410 Gone means the token is too old, the client must reload everything
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since) {
+        try {
+            return ResponseEntity.ok(taskSyncService.getChanges(getCurrentUser(), since));
+        } catch (TaskSyncService.SyncTokenExpiredException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.GONE);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Live stream of the user's task changes (Server-Sent Events), replaces polling
+    // The request thread is released right away; events are written by TaskEventBroadcaster.
+    // On reconnect, call GET /api/tasks/changes once to pick up anything missed.
+    @GetMapping(value = "/stream", produces = "text/event-stream")
+    public SseEmitter streamTaskChanges() {
+        return taskEventBroadcaster.subscribe(currentUserService.getCurrentUserId());
     }
 
     @PostMapping
@@ -65,29 +154,148 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
     }
 
+    // Apply many create/update/toggle/delete operations in one transaction (offline sync)
+    // Returns one result per operation, see TaskBatchResultDTO
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody List<TaskBatchOperationDTO> operations) {
+        if (operations.size() > TaskBatchService.MAX_OPERATIONS) {
+            return new ResponseEntity<>("Too many operations (max " + TaskBatchService.MAX_OPERATIONS + ")",
+                    HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return ResponseEntity.ok(taskBatchService.applyBatch(operations, getCurrentUser()));
+        } catch (ConcurrencyFailureException e) {
+            // Lost every retry against concurrent changes, nothing was applied: send the batch again
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+
+    // Bulk import from an NDJSON or CSV request body (see TaskImportRowDTO for the formats)
+    // The body is read as a stream and committed in chunks. The response is NDJSON too, written
+    // as the import runs: a "progress" line per chunk, an "error" line per bad row, then "done".
+    @PostMapping(value = "/import", consumes = { "application/x-ndjson", "text/csv" })
+    public void importTasks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        TaskImportService.Format format = request.getContentType().startsWith("text/csv")
+                ? TaskImportService.Format.CSV
+                : TaskImportService.Format.NDJSON;
+        OutputStream out = response.getOutputStream();
+        try {
+            taskImportService.importTasks(request.getInputStream(), format, getCurrentUser(),
+                    line -> writeLine(response, out, line));
+        } catch (IllegalArgumentException e) {
+            // File unreadable before anything was imported (e.g. CSV without a title column)
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType("text/plain");
+            out.write(e.getMessage().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Write one NDJSON line and push it to the client right away
+    private void writeLine(HttpServletResponse response, OutputStream out, TaskImportReportDTO line) {
+        try {
+            if (!response.isCommitted()) {
+                response.setContentType("application/x-ndjson");
+            }
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Client went away, stop importing
+        }
+    }
+
+    // Download every task: GET /api/tasks/export?format=ndjson (default) or ?format=csv
+    // Written straight to the response while the rows are read, see TaskExportService
+    @GetMapping("/export")
+    public void exportTasks(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response)
+            throws IOException {
+        TaskExportService.Format exportFormat;
+        if (format.equalsIgnoreCase("csv")) {
+            exportFormat = TaskExportService.Format.CSV;
+            response.setContentType("text/csv;charset=UTF-8");
+        } else if (format.equalsIgnoreCase("ndjson")) {
+            exportFormat = TaskExportService.Format.NDJSON;
+            response.setContentType("application/x-ndjson;charset=UTF-8");
+        } else {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unknown format: " + format);
+            return;
+        }
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"tasks." + exportFormat.name().toLowerCase() + "\"");
+        taskExportService.exportTasks(getCurrentUser(), exportFormat, response.getOutputStream());
+    }
+
+    // Changes of a single task: with an If-Match header (the task's ETag) they only apply if the task
+    // is still at that version, otherwise 412 Precondition Failed. Without If-Match the last write wins.
+    // 409 Conflict = the change kept colliding with concurrent writes (rare), try again.
+    // Successful responses carry the new ETag.
+
     @PutMapping("/{id}")
-    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO) {
-        TaskDTO updatedTask = taskService.updateTask(id, taskDTO, getCurrentUser());
-        if (updatedTask != null) {
-            return ResponseEntity.ok(updatedTask);
+    public ResponseEntity<?> updateTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        try {
+            TaskDTO updatedTask = taskService.updateTask(id, taskDTO, getCurrentUser(),
+                    VersionTags.ifMatchVersion(ifMatch));
+            return withVersion(updatedTask);
+        } catch (VersionConflictException e) {
+            return VersionTags.preconditionFailed(e);
+        } catch (ConcurrencyFailureException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+
+    // Change only some fields: PATCH /api/tasks/{id} with e.g. { "title": "New title" }
+    // Fields that are not in the body keep their value, see TaskPatchDTO
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchTask(@PathVariable Long id, @RequestBody TaskPatchDTO patch,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        try {
+            TaskDTO patchedTask = taskService.patchTask(id, patch, getCurrentUser(),
+                    VersionTags.ifMatchVersion(ifMatch));
+            return withVersion(patchedTask);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (VersionConflictException e) {
+            return VersionTags.preconditionFailed(e);
+        } catch (ConcurrencyFailureException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
         }
-        return ResponseEntity.notFound().build();
     }
 
     @PutMapping("/{id}/toggle")
-    public ResponseEntity<TaskDTO> toggleTask(@PathVariable Long id) {
-        TaskDTO toggledTask = taskService.toggleTaskCompletion(id, getCurrentUser());
-        if (toggledTask != null) {
-            return ResponseEntity.ok(toggledTask);
+    public ResponseEntity<?> toggleTask(@PathVariable Long id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        try {
+            TaskDTO toggledTask = taskService.toggleTaskCompletion(id, getCurrentUser(),
+                    VersionTags.ifMatchVersion(ifMatch));
+            return withVersion(toggledTask);
+        } catch (VersionConflictException e) {
+            return VersionTags.preconditionFailed(e);
+        } catch (ConcurrencyFailureException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
         }
-        return ResponseEntity.notFound().build();
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        boolean deleted = taskService.deleteTask(id, getCurrentUser());
-        if (deleted) {
-            return ResponseEntity.noContent().build();
+    public ResponseEntity<?> deleteTask(@PathVariable Long id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        try {
+            boolean deleted = taskService.deleteTask(id, getCurrentUser(), VersionTags.ifMatchVersion(ifMatch));
+            if (deleted) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.notFound().build();
+        } catch (VersionConflictException e) {
+            return VersionTags.preconditionFailed(e);
+        } catch (ConcurrencyFailureException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+
+    // 200 with the task and its new ETag, 404 if there was no such task
+    private static ResponseEntity<?> withVersion(TaskDTO task) {
+        if (task != null) {
+            return ResponseEntity.ok().eTag(String.valueOf(task.getVersion())).body(task);
         }
         return ResponseEntity.notFound().build();
     }
@@ -0,0 +1,39 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.service.VersionConflictException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+// ETag / If-Match for single tasks and categories
+// The ETag of a task or category is its version ("3"). A client sends it back in If-Match
+// with PUT/PATCH/DELETE (and toggle) so the change only applies to the version it has seen;
+// otherwise the answer is 412 with the current version as ETag.
+final class VersionTags {
+
+    private VersionTags() {}
+
+    // The version in an If-Match header: null = no header or "*" (any version is fine)
+    // An ETag that isn't one of ours can never match, it becomes -1 (-> 412)
+    static Long ifMatchVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.split(",")[0].trim(); // Only the first ETag of a list is used
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    // 412 Precondition Failed, with the current version so the client knows what to reload
+    static ResponseEntity<String> preconditionFailed(VersionConflictException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(String.valueOf(e.getCurrentVersion()))
+                .body(e.getMessage());
+    }
+}
@@ -0,0 +1,41 @@
+package com.taskmanager.dto;
+
+// Hit/miss counters of one second-level cache region (GET /api/cache/stats)
+public class CacheRegionStatsDTO {
+
+    private String region; // e.g. com.taskmanager.entity.Category
+    private long hits;
+    private long misses;
+    private long puts;
+    private long entries; // Entries currently held in memory, -1 if unknown
+    private double hitRatio; // hits / (hits + misses), 0 when unused
+
+    public CacheRegionStatsDTO() {}
+
+    public CacheRegionStatsDTO(String region, long hits, long misses, long puts, long entries) {
+        this.region = region;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.entries = entries;
+        this.hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    public String getRegion() { return region; }
+    public void setRegion(String region) { this.region = region; }
+
+    public long getHits() { return hits; }
+    public void setHits(long hits) { this.hits = hits; }
+
+    public long getMisses() { return misses; }
+    public void setMisses(long misses) { this.misses = misses; }
+
+    public long getPuts() { return puts; }
+    public void setPuts(long puts) { this.puts = puts; }
+
+    public long getEntries() { return entries; }
+    public void setEntries(long entries) { this.entries = entries; }
+
+    public double getHitRatio() { return hitRatio; }
+    public void setHitRatio(double hitRatio) { this.hitRatio = hitRatio; }
+}
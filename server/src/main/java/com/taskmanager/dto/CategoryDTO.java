@@ -1,5 +1,7 @@
 package com.taskmanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime; // For timestamp fields
 // DTO (Data Transfer Object) - Used for API request/response data
 
@@ -10,6 +12,13 @@ public class CategoryDTO {
     private String color;
     private String description;
     private LocalDateTime updatedAt;
+    private long version; // Optimistic locking version, also the ETag of GET /api/categories/{id}
+
+    // Only in GET /api/categories?counts=true, left out of the JSON otherwise
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long taskCount;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long completedCount;
 
     public CategoryDTO() {}
 
@@ -18,6 +27,16 @@ public class CategoryDTO {
         this.name = name;
         this.createdAt = createdAt;
     }
+
+    // Used by the projection query in CategoryRepository ("select new CategoryDTO(...)")
+    public CategoryDTO(Long id, String name, String color, String description,
+                       LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+        this(id, name, createdAt);
+        this.color = color;
+        this.description = description;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
     // Convert Entity to DTO
     public static CategoryDTO fromEntity(com.taskmanager.entity.Category category) { 
         CategoryDTO dto = new CategoryDTO();
@@ -27,6 +46,7 @@ public class CategoryDTO {
         dto.setColor(category.getColor());
         dto.setDescription(category.getDescription());
         dto.setUpdatedAt(category.getUpdatedAt());
+        dto.setVersion(category.getVersion());
         return dto;
     }
     // Convert DTO to Entity
@@ -52,6 +72,15 @@ public class CategoryDTO {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public Long getTaskCount() { return taskCount; }
+    public void setTaskCount(Long taskCount) { this.taskCount = taskCount; }
+
+    public Long getCompletedCount() { return completedCount; }
+    public void setCompletedCount(Long completedCount) { this.completedCount = completedCount; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
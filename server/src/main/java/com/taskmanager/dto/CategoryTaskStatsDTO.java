@@ -0,0 +1,31 @@
+package com.taskmanager.dto;
+
+// Task counts of one category in GET /api/stats
+public class CategoryTaskStatsDTO {
+
+    private Long categoryId; // null = tasks without a category
+    private String categoryName;
+    private long total;
+    private long completed;
+
+    public CategoryTaskStatsDTO() {}
+
+    public CategoryTaskStatsDTO(Long categoryId, String categoryName, long total, long completed) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.total = total;
+        this.completed = completed;
+    }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getCompleted() { return completed; }
+    public void setCompleted(long completed) { this.completed = completed; }
+}
@@ -0,0 +1,32 @@
+package com.taskmanager.dto;
+
+// One operation inside POST /api/tasks/batch
+// op is "create", "update", "toggle" or "delete"
+public class TaskBatchOperationDTO {
+
+    private String op; // Operation to apply
+    private Long id; // Task to change (update, toggle, delete)
+    private TaskDTO task; // New task data (create, update)
+    private Long version; // Optional, like If-Match: only apply if the task is still at this version
+
+    public TaskBatchOperationDTO() {} // Required for JSON deserialization
+
+    public TaskBatchOperationDTO(String op, Long id, TaskDTO task) {
+        this.op = op;
+        this.id = id;
+        this.task = task;
+    }
+
+    // Getters and Setters
+    public String getOp() { return op; }
+    public void setOp(String op) { this.op = op; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public TaskDTO getTask() { return task; }
+    public void setTask(TaskDTO task) { this.task = task; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
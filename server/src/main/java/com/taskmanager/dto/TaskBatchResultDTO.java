@@ -0,0 +1,62 @@
+package com.taskmanager.dto;
+
+// Result of one operation of POST /api/tasks/batch, in the same order as the request
+// status uses HTTP codes: 201 created, 200 updated/toggled, 204 deleted, 400 bad operation, 404 not found,
+// 412 the task is not at the operation's version
+public class TaskBatchResultDTO {
+
+    private int index; // Position of the operation in the request
+    private String op; // Operation that was applied
+    private Long id; // Task id (new id for creates)
+    private int status; // HTTP-style status of this operation
+    private TaskDTO task; // Task after the operation (create, update, toggle)
+    private String error; // Why the operation was rejected
+
+    public TaskBatchResultDTO() {} // Required for JSON deserialization
+
+    public TaskBatchResultDTO(int index, String op, Long id, int status, TaskDTO task, String error) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+        this.status = status;
+        this.task = task;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getOp() { return op; }
+    public void setOp(String op) { this.op = op; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+
+    public TaskDTO getTask() { return task; }
+    public void setTask(TaskDTO task) { this.task = task; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
+
+// ============================================
+// USAGE EXAMPLE
+// ============================================
+//
+// POST /api/tasks/batch
+// [
+//   { "op": "create", "task": { "title": "Buy milk" } },
+//   { "op": "toggle", "id": 12 },
+//   { "op": "delete", "id": 99 }
+// ]
+//
+// Response:
+// [
+//   { "index": 0, "op": "create", "id": 150, "status": 201, "task": { ... } },
+//   { "index": 1, "op": "toggle", "id": 12, "status": 200, "task": { ... } },
+//   { "index": 2, "op": "delete", "id": 99, "status": 404, "error": "Task not found" }
+// ]
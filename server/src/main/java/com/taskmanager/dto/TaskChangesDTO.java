@@ -0,0 +1,34 @@
+package com.taskmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Response of GET /api/tasks/changes
+public class TaskChangesDTO {
+
+    private List<TaskDTO> changed = new ArrayList<>(); // Tasks created or updated, apply as upserts
+    private List<Long> deleted = new ArrayList<>(); // Ids of deleted tasks
+    private String nextToken; // Send as ?since= on the next call
+    private boolean hasMore; // True if the page was full, call again right away
+
+    public TaskChangesDTO() {}
+
+    public TaskChangesDTO(List<TaskDTO> changed, List<Long> deleted, String nextToken, boolean hasMore) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+
+    public List<TaskDTO> getChanged() { return changed; }
+    public void setChanged(List<TaskDTO> changed) { this.changed = changed; }
+
+    public List<Long> getDeleted() { return deleted; }
+    public void setDeleted(List<Long> deleted) { this.deleted = deleted; }
+
+    public String getNextToken() { return nextToken; }
+    public void setNextToken(String nextToken) { this.nextToken = nextToken; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
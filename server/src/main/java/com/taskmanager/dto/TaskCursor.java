@@ -0,0 +1,48 @@
+package com.taskmanager.dto;
+
+import java.nio.charset.StandardCharsets; // For encoding cursor text
+import java.time.LocalDateTime; // For timestamp fields
+import java.time.format.DateTimeParseException; // Thrown on a bad timestamp
+import java.util.Base64; // For URL-safe encoding
+
+// Position in a keyset-paginated task list: the (createdAt, id) of the last task on a page
+// Clients only ever see it as an opaque string, so the format can change without breaking them
+public class TaskCursor {
+
+    private final LocalDateTime createdAt; // createdAt of the last task returned
+    private final Long id; // id of the last task returned (tie breaker)
+
+    public TaskCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    // Build the cursor pointing after the given task
+    public static TaskCursor after(TaskDTO task) {
+        return new TaskCursor(task.getCreatedAt(), task.getId());
+    }
+
+    // Encode as "createdAt|id" in URL-safe base64, e.g. "MjAyNC0wMS0wMVQxMDowMHwxMjM"
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Decode a cursor sent by the client, IllegalArgumentException if it was tampered with
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TaskCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) { // NumberFormatException is an IllegalArgumentException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getId() { return id; }
+}
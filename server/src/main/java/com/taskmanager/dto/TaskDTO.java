@@ -20,6 +20,7 @@ public class TaskDTO {
     private Long categoryId; // Category ID for the task
     private String categoryName; // Category name for display
     private String categoryColor; // Category color for display
+    private long version; // Optimistic locking version, also the ETag of GET /api/tasks/{id}
     private List<Long> tagIds = new ArrayList<>(); // Tag IDs for input (when creating/updating)
     private List<TagDTO> tags = new ArrayList<>(); // Tag DTOs for output (when returning)
 
@@ -38,8 +39,37 @@ public class TaskDTO {
         this.dueDate = dueDate;
     }
 
+    // Used by the projection queries in TaskRepository ("select new TaskDTO(...)"):
+    // one row = the task's columns + its category's id, name and color (all null without category)
+    // Tags are filled in afterwards
+    public TaskDTO(Long id, String title, String description, boolean completed,
+                   LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime dueDate,
+                   Long categoryId, String categoryName, String categoryColor, long version) {
+        this(id, title, description, completed, createdAt, updatedAt);
+        this.dueDate = dueDate;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.categoryColor = categoryColor;
+        this.version = version;
+    }
+
     // Convert Entity to DTO (for API responses)
     public static TaskDTO fromEntity(com.taskmanager.entity.Task task) { // static method to convert entity to dto, more clean
+        TaskDTO dto = fromEntityWithoutTags(task);
+        // Set tags info if task has tags
+        if (task.getTags() != null && !task.getTags().isEmpty()) {
+            dto.setTags(task.getTags().stream()
+                    .map(TagDTO::fromEntity)
+                    .collect(Collectors.toList()));
+            dto.setTagIds(task.getTags().stream()
+                    .map(tag -> tag.getId())
+                    .collect(Collectors.toList()));
+        }
+        return dto;
+    }
+
+    // Same without tags, doesn't load the tag collection (e.g. the "before" state of a change)
+    public static TaskDTO fromEntityWithoutTags(com.taskmanager.entity.Task task) {
         TaskDTO dto = new TaskDTO(); // Create new DTO object
         dto.setId(task.getId());
         dto.setTitle(task.getTitle());
@@ -48,21 +78,13 @@ public class TaskDTO {
         dto.setCreatedAt(task.getCreatedAt());
         dto.setUpdatedAt(task.getUpdatedAt());
         dto.setDueDate(task.getDueDate());
+        dto.setVersion(task.getVersion());
         // Set category info if task has a category
         if (task.getCategory() != null) {
             dto.setCategoryId(task.getCategory().getId());
             dto.setCategoryName(task.getCategory().getName());
             dto.setCategoryColor(task.getCategory().getColor());
         }
-        // Set tags info if task has tags
-        if (task.getTags() != null && !task.getTags().isEmpty()) {
-            dto.setTags(task.getTags().stream()
-                    .map(TagDTO::fromEntity)
-                    .collect(Collectors.toList()));
-            dto.setTagIds(task.getTags().stream()
-                    .map(tag -> tag.getId())
-                    .collect(Collectors.toList()));
-        }
         return dto;
     }
 
@@ -111,6 +133,9 @@ public class TaskDTO {
     public String getCategoryColor() { return categoryColor; }
     public void setCategoryColor(String categoryColor) { this.categoryColor = categoryColor; }
 
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
     public List<Long> getTagIds() { return tagIds; }
     public void setTagIds(List<Long> tagIds) { this.tagIds = tagIds; }
 
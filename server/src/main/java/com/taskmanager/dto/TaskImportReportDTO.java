@@ -0,0 +1,45 @@
+package com.taskmanager.dto;
+
+// One line of the NDJSON response of POST /api/tasks/import
+// type "progress": sent after every committed chunk
+// type "error":    a row that could not be imported (row = line/record number, header excluded)
+// type "done":     final totals
+public class TaskImportReportDTO {
+
+    private String type; // "progress", "error" or "done"
+    private long rowsRead; // Rows read so far
+    private long imported; // Tasks committed so far
+    private long failed; // Rows rejected so far
+    private Long row; // Row number (error lines only)
+    private String error; // Why the row was rejected (error lines only)
+
+    public TaskImportReportDTO() {} // Required for JSON deserialization
+
+    public TaskImportReportDTO(String type, long rowsRead, long imported, long failed, Long row, String error) {
+        this.type = type;
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.failed = failed;
+        this.row = row;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public long getRowsRead() { return rowsRead; }
+    public void setRowsRead(long rowsRead) { this.rowsRead = rowsRead; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public Long getRow() { return row; }
+    public void setRow(Long row) { this.row = row; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
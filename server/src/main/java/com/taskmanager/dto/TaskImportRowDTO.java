@@ -0,0 +1,50 @@
+package com.taskmanager.dto;
+
+import java.time.LocalDateTime; // For timestamp fields
+import java.util.ArrayList; // For ArrayList implementation
+import java.util.List; // For List collection
+
+// One task in an import file (a JSON line or a CSV row)
+// Category and tags are given by NAME, the importer resolves them to ids
+public class TaskImportRowDTO {
+
+    private String title; // Required
+    private String description;
+    private boolean completed;
+    private LocalDateTime dueDate;
+    private String category; // Category name, created for the user if it doesn't exist yet
+    private List<String> tags = new ArrayList<>(); // Tag names, created if they don't exist yet
+
+    public TaskImportRowDTO() {} // Required for JSON deserialization
+
+    // Getters and Setters
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+
+    public LocalDateTime getDueDate() { return dueDate; }
+    public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public List<String> getTags() { return tags; }
+    public void setTags(List<String> tags) { this.tags = tags; }
+}
+
+// ============================================
+// FILE FORMATS
+// ============================================
+//
+// NDJSON (Content-Type: application/x-ndjson), one task per line:
+// {"title":"Buy milk","category":"Groceries","tags":["urgent"],"dueDate":"2024-05-01T09:00:00"}
+// {"title":"Call mom","completed":true}
+//
+// CSV (Content-Type: text/csv), header row first, tags separated by ";":
+// title,description,completed,dueDate,category,tags
+// Buy milk,,false,2024-05-01T09:00:00,Groceries,urgent;home
@@ -0,0 +1,39 @@
+package com.taskmanager.dto;
+
+import java.util.ArrayList; // For ArrayList implementation
+import java.util.List; // For List collection
+
+// DTO for one page of a cursor-paginated task list
+// The client passes nextCursor back as ?cursor=... to get the following page
+public class TaskPageDTO {
+
+    private List<TaskDTO> items = new ArrayList<>(); // Tasks on this page
+    private String nextCursor; // Cursor for the next page, null when this is the last page
+
+    public TaskPageDTO() {} // Required for JSON deserialization
+
+    public TaskPageDTO(List<TaskDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<TaskDTO> getItems() { return items; }
+    public void setItems(List<TaskDTO> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
+
+// ============================================
+// RESPONSE EXAMPLE
+// ============================================
+//
+// GET /api/tasks?limit=2
+// {
+//   "items": [ { "id": 42, ... }, { "id": 41, ... } ],
+//   "nextCursor": "MjAyNC0wMS0wMVQxMDowMHw0MQ"
+// }
+//
+// GET /api/tasks?limit=2&cursor=MjAyNC0wMS0wMVQxMDowMHw0MQ
+// { "items": [ ... ], "nextCursor": null }   <- last page
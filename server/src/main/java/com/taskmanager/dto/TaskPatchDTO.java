@@ -0,0 +1,56 @@
+package com.taskmanager.dto;
+
+import java.time.LocalDateTime; // For the due date
+import java.util.List; // For tag IDs
+
+// Request body of PATCH /api/tasks/{id}: only the fields that are sent get changed
+//
+// Unlike TaskDTO, a missing field and a field sent as null are different things here:
+//   { "title": "Buy milk" }        -> only the title changes
+//   { "dueDate": null }            -> the due date is removed, everything else is kept
+//   { "tagIds": [] }               -> all tags are removed
+// Jackson only calls the setter of a field that is in the JSON, so each setter also
+// remembers that its field was sent.
+public class TaskPatchDTO {
+
+    private String title;
+    private String description;
+    private Boolean completed;
+    private LocalDateTime dueDate;
+    private Long categoryId; // null = no category
+    private List<Long> tagIds; // The full new list of tags, null = no tags
+
+    private boolean titleSet;
+    private boolean descriptionSet;
+    private boolean completedSet;
+    private boolean dueDateSet;
+    private boolean categoryIdSet;
+    private boolean tagIdsSet;
+
+    public TaskPatchDTO() {} // Required for JSON deserialization
+
+    // Getters and Setters (setters also record that the field was sent)
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; this.titleSet = true; }
+    public boolean hasTitle() { return titleSet; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; this.descriptionSet = true; }
+    public boolean hasDescription() { return descriptionSet; }
+
+    public Boolean getCompleted() { return completed; }
+    public void setCompleted(Boolean completed) { this.completed = completed; this.completedSet = true; }
+    public boolean hasCompleted() { return completedSet; }
+
+    public LocalDateTime getDueDate() { return dueDate; }
+    public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; this.dueDateSet = true; }
+    public boolean hasDueDate() { return dueDateSet; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; this.categoryIdSet = true; }
+    public boolean hasCategoryId() { return categoryIdSet; }
+
+    public List<Long> getTagIds() { return tagIds; }
+    public void setTagIds(List<Long> tagIds) { this.tagIds = tagIds; this.tagIdsSet = true; }
+    public boolean hasTagIds() { return tagIdsSet; }
+}
@@ -0,0 +1,39 @@
+package com.taskmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Dashboard numbers of GET /api/stats
+public class TaskStatsDTO {
+
+    private long total;
+    private long completed;
+    private long incomplete;
+    private long overdue; // Not completed and past the due date
+    private List<CategoryTaskStatsDTO> categories = new ArrayList<>();
+
+    public TaskStatsDTO() {}
+
+    public TaskStatsDTO(long total, long completed, long overdue, List<CategoryTaskStatsDTO> categories) {
+        this.total = total;
+        this.completed = completed;
+        this.incomplete = total - completed;
+        this.overdue = overdue;
+        this.categories = categories;
+    }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getCompleted() { return completed; }
+    public void setCompleted(long completed) { this.completed = completed; }
+
+    public long getIncomplete() { return incomplete; }
+    public void setIncomplete(long incomplete) { this.incomplete = incomplete; }
+
+    public long getOverdue() { return overdue; }
+    public void setOverdue(long overdue) { this.overdue = overdue; }
+
+    public List<CategoryTaskStatsDTO> getCategories() { return categories; }
+    public void setCategories(List<CategoryTaskStatsDTO> categories) { this.categories = categories; }
+}
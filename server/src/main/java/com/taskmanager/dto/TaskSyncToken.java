@@ -0,0 +1,59 @@
+package com.taskmanager.dto;
+
+import java.nio.charset.StandardCharsets; // For encoding token text
+import java.time.LocalDateTime; // For timestamp fields
+import java.time.format.DateTimeParseException; // Thrown on a bad timestamp
+import java.util.Base64; // For URL-safe encoding
+
+// Position of a client in the change feed (GET /api/tasks/changes)
+// Two keyset positions: the last (changeSeq, id) of changed tasks and the last (changeSeq, id)
+// of tombstones the client has seen, plus when the token was handed out (it expires with the
+// tombstones, see TaskSyncService). Opaque to clients, like TaskCursor.
+public class TaskSyncToken {
+
+    private final long taskSeq;
+    private final Long taskId;
+    private final long tombstoneSeq;
+    private final Long tombstoneId;
+    private final LocalDateTime issuedAt;
+
+    public TaskSyncToken(long taskSeq, Long taskId, long tombstoneSeq, Long tombstoneId, LocalDateTime issuedAt) {
+        this.taskSeq = taskSeq;
+        this.taskId = taskId;
+        this.tombstoneSeq = tombstoneSeq;
+        this.tombstoneId = tombstoneId;
+        this.issuedAt = issuedAt;
+    }
+
+    // Encode as "taskSeq|taskId|tombstoneSeq|tombstoneId|issuedAt" in URL-safe base64
+    public String encode() {
+        String raw = taskSeq + "|" + taskId + "|" + tombstoneSeq + "|" + tombstoneId + "|" + issuedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Decode a token sent by the client, IllegalArgumentException if it was tampered with
+    public static TaskSyncToken decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length == 4) {
+                // Timestamp position from before the change sequence: can't be continued,
+                // issued "long ago" so the client gets 410 and reloads like after a long absence
+                LocalDateTime.parse(parts[0]);
+                return new TaskSyncToken(0, 0L, 0, 0L, LocalDateTime.MIN);
+            }
+            if (parts.length != 5) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            return new TaskSyncToken(Long.parseLong(parts[0]), Long.valueOf(parts[1]),
+                    Long.parseLong(parts[2]), Long.valueOf(parts[3]), LocalDateTime.parse(parts[4]));
+        } catch (DateTimeParseException | IllegalArgumentException e) { // NumberFormatException is an IllegalArgumentException
+            throw new IllegalArgumentException("Invalid sync token");
+        }
+    }
+
+    public long getTaskSeq() { return taskSeq; }
+    public Long getTaskId() { return taskId; }
+    public long getTombstoneSeq() { return tombstoneSeq; }
+    public Long getTombstoneId() { return tombstoneId; }
+    public LocalDateTime getIssuedAt() { return issuedAt; }
+}
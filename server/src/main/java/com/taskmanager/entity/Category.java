@@ -1,10 +1,13 @@
 package com.taskmanager.entity;
 
 import jakarta.persistence.*; //DB annotations
+import org.hibernate.annotations.Cache; // Second-level cache
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime; // For timestamp fields
 
 @Entity // Marks this class as a JPA entity/database table
 @Table(name = "categories") // Maps
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Read often, written rarely: kept in the second-level cache (ehcache.xml)
 public class Category {
 
     @Id // NEXT FIELD Primary key
@@ -30,6 +33,10 @@ public class Category {
     @JoinColumn(name = "user_id")
     private User user;
 
+    @Version // Optimistic locking, see Task.version
+    @Column(nullable = false)
+    private long version; // Sent to clients as the category's ETag
+
     @PrePersist // Runs before first save a new category
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -89,6 +96,10 @@ public class Category {
         this.description = description;
     } // set description
 
+    public long getVersion() {
+        return version;
+    } // get version
+
     public User getUser() {
         return user;
     }
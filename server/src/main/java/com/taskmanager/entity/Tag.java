@@ -1,9 +1,12 @@
 package com.taskmanager.entity;
 import jakarta.persistence.*; //DB annotations
+import org.hibernate.annotations.Cache; // Second-level cache
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime; // For timestamp fields
 
 @Entity // Marks this class as a JPA entity/database table
 @Table(name = "tags") // Maps to "tags" table in database
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Read often, written rarely: kept in the second-level cache (ehcache.xml)
 
 public class Tag {
     
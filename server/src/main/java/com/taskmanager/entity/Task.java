@@ -1,16 +1,28 @@
 package com.taskmanager.entity;
 
 import jakarta.persistence.*; //DB annotations
+import org.hibernate.annotations.Cache; // Second-level cache
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import java.time.LocalDateTime; // For timestamp fields
 import java.util.HashSet; // For Set collection
 import java.util.Set; // For Set interface
 
 @Entity // Marks this class as a JPA entity/database table
-@Table(name = "tasks") // Maps to "tasks" table in database
+@DynamicUpdate // UPDATE statements list only the columns that changed (PATCH /api/tasks/{id})
+@Table(name = "tasks", // Maps to "tasks" table in database
+        indexes = @Index(name = "idx_tasks_user_change_seq", columnList = "user_id, change_seq") // For GET /api/tasks/changes
+)
 public class Task {
 
     @Id // NEXT FIELD Primary key
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto generate number by increment
+    // Ids come from the "task_seq" sequence (a one-row table on MySQL), 50 at a time.
+    // IDENTITY would force Hibernate to INSERT each task immediately to learn its id,
+    // which turns off JDBC insert batching; with a pooled sequence inserts can be batched.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id; // Unique ID for each task
 
     @Column(nullable = false, length = 255) // Required field (not null), max 255 chars
@@ -36,6 +48,8 @@ public class Task {
     private Category category; // The category this task belongs to
 
     @ManyToMany // Many tasks can have many tags
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Caches the tag ids of each task (task_tags rows)
+    @OnDelete(action = OnDeleteAction.CASCADE) // task_tags rows are deleted with their task (V4 migration)
     @JoinTable(name = "task_tags", // Join table name
             joinColumns = @JoinColumn(name = "task_id"), // Foreign key to tasks
             inverseJoinColumns = @JoinColumn(name = "tag_id") // Foreign key to tags
@@ -46,6 +60,18 @@ public class Task {
     @JoinColumn(name = "user_id")
     private User user;
 
+    // Optimistic locking: Hibernate adds 1 on every update (also when only the tags change)
+    // and the UPDATE only matches the row if nobody else changed it since it was read.
+    // Primitive on purpose: Spring Data keeps deciding "new or not" by the id.
+    @Version
+    @Column(nullable = false)
+    private long version; // Sent to clients as the task's ETag
+
+    // Position in the owner's change feed, stamped right before the commit by TaskChangeSequence
+    // (read-only here: a new row starts at 0 until the stamp)
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false)
+    private long changeSeq;
+
     @PrePersist // Runs before first save a new task
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -123,6 +149,14 @@ public class Task {
         this.dueDate = dueDate;
     } // set due date timestamp
 
+    public long getVersion() {
+        return version;
+    } // get version
+
+    public long getChangeSeq() {
+        return changeSeq;
+    } // get changeSeq
+
     public Category getCategory() {
         return category;
     } // get category
@@ -0,0 +1,50 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*; //DB annotations
+import java.time.LocalDateTime; // For timestamp fields
+
+// Record of a deleted task, so GET /api/tasks/changes can tell clients to remove it
+// Only ids are kept; old tombstones are purged after TaskSyncService.TOMBSTONE_RETENTION
+@Entity
+@Table(name = "task_tombstones",
+        indexes = {
+                @Index(name = "idx_task_tombstones_user_deleted", columnList = "user_id, deleted_at"),
+                @Index(name = "idx_task_tombstones_user_change_seq", columnList = "user_id, change_seq"),
+                @Index(name = "idx_task_tombstones_task", columnList = "task_id") }
+)
+public class TaskTombstone {
+
+    @Id
+    // Pooled sequence like Task, so deleting many tasks in a batch inserts the tombstones in JDBC batches
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_tombstone_seq")
+    @SequenceGenerator(name = "task_tombstone_seq", sequenceName = "task_tombstone_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId; // Id of the deleted task (the row itself is gone)
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId; // Owner of the deleted task
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Position in the owner's change feed, like Task.changeSeq
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false)
+    private long changeSeq;
+
+    public TaskTombstone() {
+    } // Required by JPA
+
+    public TaskTombstone(Long taskId, Long userId) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public Long getTaskId() { return taskId; }
+    public Long getUserId() { return userId; }
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public long getChangeSeq() { return changeSeq; }
+}
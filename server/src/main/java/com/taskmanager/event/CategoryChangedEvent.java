@@ -0,0 +1,39 @@
+package com.taskmanager.event;
+
+import com.taskmanager.dto.CategoryDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+// Published whenever a category is written (CategoryService, TaskImportService)
+// Listeners use @TransactionalEventListener so they only see changes that were committed
+public class CategoryChangedEvent {
+
+    // What happened to the category
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Long userId; // Owner of the category
+    private final Long categoryId; // Category that changed
+    private final CategoryDTO category; // Category after the change, null for DELETED
+    private final Collection<Long> taskIds; // Tasks showing the category (UPDATED, DELETED), they changed with it
+
+    public CategoryChangedEvent(Type type, Long userId, Long categoryId, CategoryDTO category) {
+        this(type, userId, categoryId, category, List.of());
+    }
+
+    public CategoryChangedEvent(Type type, Long userId, Long categoryId, CategoryDTO category,
+            Collection<Long> taskIds) {
+        this.type = type;
+        this.userId = userId;
+        this.categoryId = categoryId;
+        this.category = category;
+        this.taskIds = taskIds;
+    }
+
+    public Type getType() { return type; }
+    public Long getUserId() { return userId; }
+    public Long getCategoryId() { return categoryId; }
+    public CategoryDTO getCategory() { return category; }
+    public Collection<Long> getTaskIds() { return taskIds; }
+}
@@ -0,0 +1,35 @@
+package com.taskmanager.event;
+
+import com.taskmanager.dto.TagDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+// Published whenever a tag is written (TagService, TaskImportService)
+// Tags are shared by all users, so there is no owner
+public class TagChangedEvent {
+
+    // What happened to the tag
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Long tagId; // Tag that changed
+    private final TagDTO tag; // Tag after the change, null for DELETED
+    private final Collection<Long> taskIds; // Tasks carrying the tag (UPDATED), they changed with it
+
+    public TagChangedEvent(Type type, Long tagId, TagDTO tag) {
+        this(type, tagId, tag, List.of());
+    }
+
+    public TagChangedEvent(Type type, Long tagId, TagDTO tag, Collection<Long> taskIds) {
+        this.type = type;
+        this.tagId = tagId;
+        this.tag = tag;
+        this.taskIds = taskIds;
+    }
+
+    public Type getType() { return type; }
+    public Long getTagId() { return tagId; }
+    public TagDTO getTag() { return tag; }
+    public Collection<Long> getTaskIds() { return taskIds; }
+}
@@ -0,0 +1,36 @@
+package com.taskmanager.event;
+
+import com.taskmanager.dto.TaskDTO;
+
+// Published by TaskService whenever a task is written
+// Listeners use @TransactionalEventListener so they only see changes that were committed
+// (except TaskChangeSequence, which notes the task for the change feed inside the transaction)
+public class TaskChangedEvent {
+
+    // What happened to the task
+    public enum Type { CREATED, UPDATED, TOGGLED, DELETED }
+
+    private final Type type;
+    private final Long userId; // Owner of the task
+    private final Long taskId; // Task that changed
+    private final TaskDTO task; // Task after the change, null for DELETED
+    private final TaskDTO previous; // Task before the change (without tags), null for CREATED
+
+    public TaskChangedEvent(Type type, Long userId, Long taskId, TaskDTO task) {
+        this(type, userId, taskId, task, null);
+    }
+
+    public TaskChangedEvent(Type type, Long userId, Long taskId, TaskDTO task, TaskDTO previous) {
+        this.type = type;
+        this.userId = userId;
+        this.taskId = taskId;
+        this.task = task;
+        this.previous = previous;
+    }
+
+    public Type getType() { return type; }
+    public Long getUserId() { return userId; }
+    public Long getTaskId() { return taskId; }
+    public TaskDTO getTask() { return task; }
+    public TaskDTO getPrevious() { return previous; }
+}
@@ -1,7 +1,14 @@
 package com.taskmanager.repository;
 
+import com.taskmanager.dto.CategoryDTO;
 import com.taskmanager.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,8 +18,24 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     // JpaRepository provides: save(), deleteById(), etc.
 
     // Get all categories for a specific user sorted by creation date
+    // Result ids are kept in the query cache; any write to categories invalidates it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+    // Same listing as DTOs: only the columns the API returns, no Category entities loaded
+    // (cached like the query above, the cache holds the row values instead of ids)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.taskmanager.dto.CategoryDTO(c.id, c.name, c.color, c.description, c.createdAt,"
+            + " c.updatedAt, c.version) from Category c where c.user.id = :userId order by c.createdAt desc")
+    List<CategoryDTO> findDTOsByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
+
+    // Delete a user's category in one statement, 0 = no such category or another user's
+    // With a version (If-Match) only if the category is still at that version; null = any version
+    @Modifying
+    @Query("delete from Category c where c.id = :id and c.user.id = :userId"
+            + " and (:version is null or c.version = :version)")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId, @Param("version") Long version);
+
     // Search by name for a specific user (case-insensitive)
     List<Category> findByUserIdAndNameContainingIgnoreCase(Long userId, String keyword);
 }
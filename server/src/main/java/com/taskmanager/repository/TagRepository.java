@@ -1,7 +1,10 @@
 package com.taskmanager.repository;
 
 import com.taskmanager.entity.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +13,7 @@ import java.util.List;
 public interface TagRepository extends JpaRepository<Tag, Long> {
     // This class will be used to interact with the database for Tag entities
     List<Tag> findByNameContainingIgnoreCase(String Name); // Search tasks by tag name (case-insensitive)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // Query cache, invalidated by any tag write
     List<Tag> findAllByOrderByCreatedAtDesc(); // Get all tasks sorted by date (newest first)
 
     
@@ -1,21 +1,217 @@
 package com.taskmanager.repository;
 
+import com.taskmanager.dto.TaskDTO;
 import com.taskmanager.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository // Marks this interface as a Spring Data JPA repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     // JpaRepository provides: findAll(), findById(), save(), deleteById(), etc.
 
+    // READ PATH: DTO PROJECTIONS
+    // The listings below don't load Task entities at all. "select new TaskDTO(...)" reads just
+    // the columns the API returns (the task plus its category's id, name and color through a
+    // left join) and Hibernate calls the constructor for each row. Nothing ends up in the
+    // persistence context: no entity instances, no snapshots for dirty checking, nothing to flush.
+    // The tags of a listing come from ONE extra query (findTagRows below).
+    // Total: 2 queries for any page size, same as before, but far less memory per row.
+    // (Code that changes tasks still loads entities: TaskBatchService, TaskSyncService, ...)
+    String TASK_DTO = "select new com.taskmanager.dto.TaskDTO(t.id, t.title, t.description, t.completed,"
+            + " t.createdAt, t.updatedAt, t.dueDate, c.id, c.name, c.color, t.version)"
+            + " from Task t left join t.category c";
+
     // Get all tasks for a specific user sorted by date (newest first)
-    List<Task> findByUserIdOrderByCreatedAtDesc(Long userId);
+    @Query(TASK_DTO + " where t.user.id = :userId order by t.createdAt desc")
+    List<TaskDTO> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
 
     // Search tasks by title for a specific user (case-insensitive)
-    List<Task> findByUserIdAndTitleContainingIgnoreCase(Long userId, String title);
+    // locate() instead of LIKE so % and _ in the keyword are plain characters
+    @Query(TASK_DTO + " where t.user.id = :userId and locate(upper(:title), upper(t.title)) > 0")
+    List<TaskDTO> findByUserIdAndTitleContainingIgnoreCase(@Param("userId") Long userId, @Param("title") String title);
 
     // Get incomplete tasks for a specific user sorted by date
-    List<Task> findByUserIdAndCompletedFalseOrderByCreatedAtDesc(Long userId);
+    @Query(TASK_DTO + " where t.user.id = :userId and t.completed = false order by t.createdAt desc")
+    List<TaskDTO> findByUserIdAndCompletedFalseOrderByCreatedAtDesc(@Param("userId") Long userId);
+
+    // Get one task of a user, empty when it doesn't exist or belongs to someone else
+    @Query(TASK_DTO + " where t.id = :id and t.user.id = :userId")
+    Optional<TaskDTO> findDTOByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // ===========================================
+    // KEYSET (CURSOR) PAGINATION
+    // ===========================================
+    // Pages are ordered by (createdAt, id) newest first. The id breaks ties
+    // between tasks created in the same instant so no row is skipped or repeated.
+    // Instead of OFFSET (which reads and throws away every earlier row), the
+    // "after" queries seek straight past the last row of the previous page,
+    // so page 1000 costs the same as page 1.
+
+    // First page of a user's tasks
+    @Query(TASK_DTO + " where t.user.id = :userId order by t.createdAt desc, t.id desc")
+    List<TaskDTO> findByUserIdOrderByCreatedAtDescIdDesc(@Param("userId") Long userId, Limit limit);
+
+    // Next page of a user's tasks, starting after the (createdAt, id) cursor
+    @Query(TASK_DTO + " where t.user.id = :userId"
+            + " and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id))"
+            + " order by t.createdAt desc, t.id desc")
+    List<TaskDTO> findPageAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Limit limit);
+
+    // First page of a user's incomplete tasks
+    @Query(TASK_DTO + " where t.user.id = :userId and t.completed = false order by t.createdAt desc, t.id desc")
+    List<TaskDTO> findByUserIdAndCompletedFalseOrderByCreatedAtDescIdDesc(@Param("userId") Long userId,
+            Limit limit);
+
+    // Next page of a user's incomplete tasks, starting after the (createdAt, id) cursor
+    @Query(TASK_DTO + " where t.user.id = :userId and t.completed = false"
+            + " and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id))"
+            + " order by t.createdAt desc, t.id desc")
+    List<TaskDTO> findIncompletePageAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Limit limit);
+
+    // Specific tasks of a user (e.g. search hits), other users' ids are simply not returned
+    @Query(TASK_DTO + " where t.user.id = :userId and t.id in :ids")
+    List<TaskDTO> findDTOsByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Tags of the given tasks, one row per (task, tag): [taskId, tagId, tagName, tagCreatedAt]
+    @Query("select t.id, g.id, g.name, g.createdAt from Task t join t.tags g where t.id in :ids")
+    List<Object[]> findTagRows(@Param("ids") Collection<Long> ids);
+
+    // ===========================================
+    // ENTITY QUERIES (for code that changes the tasks it loads)
+    // ===========================================
+    // Tasks are loaded with their category joined in the same SELECT (@EntityGraph)
+    // and the tags of all of them with fetchTags, so no lazy load per task ("N+1").
+
+    // Load specific tasks of a user (batch operations), other users' ids are simply not returned
+    @EntityGraph(attributePaths = "category")
+    List<Task> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    // Walk the whole table in id order, a batch at a time (used to build the search index)
+    @EntityGraph(attributePaths = "category")
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Specific tasks of any user (the search index, after a category or tag rename)
+    @EntityGraph(attributePaths = "category")
+    List<Task> findByIdIn(Collection<Long> ids);
+
+    // Initialise the tags of already-loaded tasks in one query
+    // Must run in the same transaction as the listing query so Hibernate fills
+    // the tag collections of the tasks it already holds
+    @Query("select distinct t from Task t left join fetch t.tags where t.id in :ids")
+    List<Task> fetchTags(@Param("ids") Collection<Long> ids);
+
+    // Stream ALL of a user's tasks for export, with category and tags, in id order
+    // Rows come from the database 500 at a time (server-side cursor, see useCursorFetch in
+    // application-prod.yml) instead of the whole result being loaded into a List first.
+    // Without the prod profile Connector/J ignores the fetch size and reads the whole result.
+    // Ordering by id keeps the rows of one task together, so Hibernate can assemble its tags.
+    // Must be consumed inside a transaction and closed afterwards (try-with-resources).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("select t from Task t left join fetch t.category left join fetch t.tags"
+            + " where t.user.id = :userId order by t.id")
+    Stream<Task> streamAllByUserId(@Param("userId") Long userId);
+
+    // Tasks of a user changed after the (changeSeq, id) position, in commit order (see TaskChangeSequence)
+    // One range scan on the (user_id, change_seq) index
+    @EntityGraph(attributePaths = "category")
+    @Query("select t from Task t where t.user.id = :userId"
+            + " and (t.changeSeq > :changeSeq or (t.changeSeq = :changeSeq and t.id > :id))"
+            + " order by t.changeSeq asc, t.id asc")
+    List<Task> findChangedAfter(@Param("userId") Long userId, @Param("changeSeq") long changeSeq,
+            @Param("id") Long id, Limit limit);
+
+    // ===========================================
+    // SINGLE-STATEMENT WRITES
+    // ===========================================
+    // The ownership check is part of the WHERE clause, so the task doesn't have to be loaded
+    // first: 0 rows changed = no such task, or it belongs to another user.
+    // Bulk statements bypass @Version, so these check and increment the version themselves:
+    // with a version, 0 rows changed also means the task is no longer at that version.
+
+    // Flip the completed flag of a user's task
+    // version = the If-Match of the request (only flip that version), null = any version
+    @Modifying
+    @Query("update Task t set t.completed = case when t.completed = true then false else true end,"
+            + " t.updatedAt = :now, t.version = t.version + 1"
+            + " where t.id = :id and t.user.id = :userId and (:version is null or t.version = :version)")
+    int toggleCompleted(@Param("id") Long id, @Param("userId") Long userId, @Param("version") Long version,
+            @Param("now") LocalDateTime now);
+
+    // Delete a user's task at the given version (the one TaskService just read, so the "before" state
+    // it reports is exactly what was deleted); the database deletes its task_tags rows with it
+    // (ON DELETE CASCADE, V4 migration)
+    // Native SQL because a JPQL delete makes Hibernate clear task_tags itself first, one more statement.
+    // The spaces hint names the table it changes, so Hibernate only invalidates the cached queries on
+    // tasks (without it a native write empties the whole second-level cache). Not task_tags: spaces are
+    // matched against entity tables only, so it evicts nothing; TaskService drops the deleted task's
+    // Task.tags entry itself.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "delete from tasks where id = :id and user_id = :userId and version = :version",
+            nativeQuery = true)
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId, @Param("version") long version);
+
+    // Lock the tasks of a category and return their ids: they are about to change with it
+    // (renamed or recoloured: GET /api/tasks/changes sends them again with the new name; deleted:
+    // detachFromCategory below), TaskChangeSequence stamps them at the commit.
+    // Locked now, so the stamp doesn't wait for a row lock while holding the user's counter.
+    // (version stays on a rename: the tasks' own fields didn't change, an edit based on them is still safe)
+    @Query(value = "select id from tasks where category_id = :categoryId for update", nativeQuery = true)
+    List<Long> lockIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Take a category off all its tasks in one statement (the category is about to be deleted)
+    // Unlike the touch above the tasks' own category_id changes, so their version goes up:
+    // an edit based on the old version would put the deleted category back
+    @Modifying
+    @Query("update Task t set t.category = null, t.updatedAt = :now, t.version = t.version + 1"
+            + " where t.category.id = :categoryId")
+    int detachFromCategory(@Param("categoryId") Long categoryId, @Param("now") LocalDateTime now);
+
+    // Same for every task carrying a tag (the tag was renamed), in two steps:
+    // the ids through the task_tags (tag_id, task_id) index, then a lock by primary key,
+    // which also gives the owners (the tasks of a tag belong to many users).
+    // A single "... where id in (select task_id from task_tags ...) for update" can't turn
+    // the subquery into a join on MySQL and locks the whole tasks table instead.
+    @Query(value = "select task_id from task_tags where tag_id = :tagId", nativeQuery = true)
+    List<Long> findIdsByTagId(@Param("tagId") Long tagId);
+
+    // Rows: [taskId, userId]
+    @Query(value = "select id, user_id from tasks where id in :ids for update", nativeQuery = true)
+    List<Object[]> lockOwnersByIds(@Param("ids") Collection<Long> ids);
+
+    // Dashboard counters of a user in one pass: per (category, completed) the number of tasks
+    // and how many of them are overdue. Rows: [categoryId (null = none), completed, count, overdue]
+    @Query("select t.category.id, t.completed, count(t),"
+            + " sum(case when t.completed = false and t.dueDate < :now then 1 else 0 end)"
+            + " from Task t where t.user.id = :userId group by t.category.id, t.completed")
+    List<Object[]> countByCategoryAndCompleted(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // Task counts per category for GET /api/categories?counts=true, one pass over the
+    // (user_id, category_id, completed) index. Rows: [categoryId, count, completed count],
+    // categories without tasks have no row
+    @Query("select t.category.id, count(t), sum(case when t.completed = true then 1 else 0 end)"
+            + " from Task t where t.user.id = :userId and t.category.id is not null group by t.category.id")
+    List<Object[]> countByCategory(@Param("userId") Long userId);
+
+    // Due dates of a user's open tasks that are not overdue yet
+    @Query("select t.dueDate from Task t where t.user.id = :userId and t.completed = false and t.dueDate >= :now")
+    List<LocalDateTime> findUpcomingDueDates(@Param("userId") Long userId, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,29 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository // Tombstones of deleted tasks, see TaskTombstone
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    // Tombstones of a user after the (changeSeq, id) position, in commit order
+    // One range scan on the (user_id, change_seq) index
+    @Query("select t from TaskTombstone t where t.userId = :userId"
+            + " and (t.changeSeq > :changeSeq or (t.changeSeq = :changeSeq and t.id > :id))"
+            + " order by t.changeSeq asc, t.id asc")
+    List<TaskTombstone> findAfter(@Param("userId") Long userId, @Param("changeSeq") long changeSeq,
+            @Param("id") Long id, Limit limit);
+
+    // Purge old tombstones in one statement
+    @Modifying
+    @Query("delete from TaskTombstone t where t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
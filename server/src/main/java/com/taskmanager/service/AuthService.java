@@ -14,12 +14,15 @@ public class AuthService {
     private final UserRepository userRepository;
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
+    private final CurrentUserService currentUserService;
 
     //Constructor injection
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService,
+            CurrentUserService currentUserService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
+        this.currentUserService = currentUserService;
     }
 
     //Register method 
@@ -43,11 +46,12 @@ public class AuthService {
         //Hash password using passwordEncoder.encode()
         user.setPassword(passwordEncoder.encode(request.getPassword()));
 
-        //Save user to database
+        //Save user to database (assigns the id we put in the token)
         userRepository.save(user);
+        currentUserService.remember(user);
 
         //Generate token
-        String token = jwtService.generateToken(user.getEmail());
+        String token = jwtService.generateToken(user);
 
         //Return AuthResponseDTO
         return new AuthResponseDTO(token, user.getUsername(), user.getEmail(), "registered");
@@ -65,8 +69,11 @@ public class AuthService {
             throw new RuntimeException("Invalid password");
         }
 
+        //Warm the user cache so the next requests don't have to load the user again
+        currentUserService.remember(user);
+
         //Generate token
-        String token = jwtService.generateToken(user.getEmail());
+        String token = jwtService.generateToken(user);
 
         //Return AuthResponseDTO
         return new AuthResponseDTO(token, user.getUsername(), user.getEmail(), "login");
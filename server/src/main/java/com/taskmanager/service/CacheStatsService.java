@@ -0,0 +1,39 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.CacheRegionStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service // Reads the second-level cache counters collected by Hibernate (hibernate.generate_statistics)
+public class CacheStatsService {
+
+    private final Statistics statistics;
+
+    public CacheStatsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // One entry per cache region, sorted by name: the entities, Task.tags and
+    // default-query-results-region (a hit there means the listing query itself was not run)
+    public List<CacheRegionStatsDTO> getRegionStats() {
+        List<CacheRegionStatsDTO> result = new ArrayList<>();
+        String[] regions = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+        for (String region : regions) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                long entries = stats.getElementCountInMemory(); // JCache doesn't report it (Long.MIN_VALUE)
+                result.add(new CacheRegionStatsDTO(region, stats.getHitCount(), stats.getMissCount(),
+                        stats.getPutCount(), entries < 0 ? -1 : entries));
+            }
+        }
+        return result;
+    }
+}
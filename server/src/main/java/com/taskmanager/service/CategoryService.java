@@ -2,11 +2,18 @@ package com.taskmanager.service;
 
 import com.taskmanager.dto.CategoryDTO;
 import com.taskmanager.entity.Category;
+import com.taskmanager.event.CategoryChangedEvent;
 import com.taskmanager.repository.CategoryRepository;
+import com.taskmanager.repository.TaskRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import com.taskmanager.entity.User; // Import User
 
@@ -14,21 +21,46 @@ import com.taskmanager.entity.User; // Import User
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final TaskRepository taskRepository;
+    private final ConflictRetry conflictRetry; // Retries an update that lost a race (see TaskService)
+    private final ApplicationEventPublisher eventPublisher; // Tells listeners (listing ETags, ...) about writes
+    private final TaskChangeSequence changeSequence; // Change feed positions of the tasks a write touches
 
     // Constructor injection - Spring auto-injects CategoryRepository
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, TaskRepository taskRepository,
+            ConflictRetry conflictRetry, ApplicationEventPublisher eventPublisher,
+            TaskChangeSequence changeSequence) {
         this.categoryRepository = categoryRepository;
+        this.taskRepository = taskRepository;
+        this.conflictRetry = conflictRetry;
+        this.eventPublisher = eventPublisher;
+        this.changeSequence = changeSequence;
     }
 
     // Get all categories for a specific user
-    public List<CategoryDTO> getAllCategories(User user) {
-        return categoryRepository.findByUserIdOrderByCreatedAtDesc(user.getId())
-                .stream()
-                .map(CategoryDTO::fromEntity)
-                .collect(Collectors.toList());
+    // withCounts: also the number of tasks and completed tasks of each category, from one
+    // GROUP BY over the user's tasks (instead of the client downloading all tasks to count them)
+    @Transactional(readOnly = true)
+    public List<CategoryDTO> getAllCategories(User user, boolean withCounts) {
+        List<CategoryDTO> categories = categoryRepository.findDTOsByUserIdOrderByCreatedAtDesc(user.getId());
+        if (withCounts) {
+            Map<Long, Object[]> counts = new HashMap<>(); // category id -> [id, count, completed]
+            for (Object[] row : taskRepository.countByCategory(user.getId())) {
+                counts.put((Long) row[0], row);
+            }
+            for (CategoryDTO category : categories) {
+                Object[] row = counts.get(category.getId());
+                category.setTaskCount(row == null ? 0L : ((Number) row[1]).longValue());
+                category.setCompletedCount(row == null ? 0L : ((Number) row[2]).longValue());
+            }
+        }
+        return categories;
     }
 
     // Get single category by ID for a specific user
+    // Stays on the entity: findById is answered from the second-level cache without any SQL,
+    // which beats a projection query
+    @Transactional(readOnly = true)
     public CategoryDTO getCategoryById(Long id, User user) {
         return categoryRepository.findById(id)
                 .filter(category -> category.getUser().getId().equals(user.getId())) // Ensure ownership
@@ -37,35 +69,71 @@ public class CategoryService {
     }
 
     // Create a new category for a specific user
+    @Transactional // Events are delivered after the commit
     public CategoryDTO createCategory(CategoryDTO categoryDTO, User user) {
         Category category = categoryDTO.toEntity();
         category.setUser(user); // Set owner
         Category savedCategory = categoryRepository.save(category);
-        return CategoryDTO.fromEntity(savedCategory);
+        CategoryDTO created = CategoryDTO.fromEntity(savedCategory);
+        eventPublisher.publishEvent(new CategoryChangedEvent(CategoryChangedEvent.Type.CREATED, user.getId(),
+                created.getId(), created));
+        return created;
     }
 
     // Update existing category for a specific user
-    public CategoryDTO updateCategory(Long id, CategoryDTO categoryDTO, User user) {
-        return categoryRepository.findById(id)
+    // expectedVersion = the request's If-Match (null = none), another version -> VersionConflictException
+    public CategoryDTO updateCategory(Long id, CategoryDTO categoryDTO, User user, Long expectedVersion) {
+        return conflictRetry.execute(status -> categoryRepository.findById(id)
                 .filter(category -> category.getUser().getId().equals(user.getId())) // Ensure ownership
                 .map(existingCategory -> {
+                    checkVersion(id, existingCategory.getVersion(), expectedVersion);
                     existingCategory.setName(categoryDTO.getName());
                     existingCategory.setColor(categoryDTO.getColor());
                     existingCategory.setDescription(categoryDTO.getDescription());
-                    Category updatedCategory = categoryRepository.save(existingCategory);
-                    return CategoryDTO.fromEntity(updatedCategory);
+                    // Flushed now, so the response has the new version
+                    Category updatedCategory = categoryRepository.saveAndFlush(existingCategory);
+                    // Tasks show the category name and color: mark them changed for the change feed
+                    List<Long> taskIds = taskRepository.lockIdsByCategoryId(id);
+                    changeSequence.tasksChanged(user.getId(), taskIds);
+                    CategoryDTO updated = CategoryDTO.fromEntity(updatedCategory);
+                    eventPublisher.publishEvent(new CategoryChangedEvent(CategoryChangedEvent.Type.UPDATED,
+                            user.getId(), id, updated, taskIds));
+                    return updated;
                 })
-                .orElse(null);
+                .orElse(null));
     }
 
     // Delete category by ID for a specific user
-    public boolean deleteCategory(Long id, User user) {
-        return categoryRepository.findById(id)
-                .filter(category -> category.getUser().getId().equals(user.getId())) // Ensure ownership
-                .map(category -> {
-                    categoryRepository.delete(category);
-                    return true;
-                })
-                .orElse(false);
+    // Ownership and If-Match are checked on the cached category (findById, no SQL). Its tasks are
+    // taken off it with one UPDATE instead of being loaded, then one DELETE that only matches the
+    // version that was checked; if the category changed in between, both are rolled back and
+    // ConflictRetry starts over. Listeners recount the stats and bump the listing ETags.
+    public boolean deleteCategory(Long id, User user, Long expectedVersion) {
+        return conflictRetry.execute(status -> {
+            Category category = categoryRepository.findById(id)
+                    .filter(existing -> existing.getUser().getId().equals(user.getId())) // Ensure ownership
+                    .orElse(null);
+            if (category == null) {
+                return false; // Not found, not the user's, or deleted by another request
+            }
+            checkVersion(id, category.getVersion(), expectedVersion);
+            // Changed for the change feed too (ids first: after the UPDATE they no longer point at the category)
+            List<Long> taskIds = taskRepository.lockIdsByCategoryId(id);
+            changeSequence.tasksChanged(user.getId(), taskIds);
+            taskRepository.detachFromCategory(id, LocalDateTime.now());
+            if (categoryRepository.deleteByIdAndUserId(id, user.getId(), category.getVersion()) == 0) {
+                throw new OptimisticLockingFailureException("Category " + id + " was changed while deleting it");
+            }
+            eventPublisher.publishEvent(new CategoryChangedEvent(CategoryChangedEvent.Type.DELETED,
+                    user.getId(), id, null, taskIds));
+            return true;
+        });
+    }
+
+    // If-Match check, like TaskService.checkVersion
+    private static void checkVersion(Long id, long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            throw new VersionConflictException("Category", id, currentVersion);
+        }
     }
 }
@@ -0,0 +1,49 @@
+package com.taskmanager.service;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Runs a write in its own transaction, and again if it lost a race with another request
+//
+// Task and Category have a @Version column: writing an entity that someone else changed after it
+// was loaded fails with OptimisticLockingFailureException instead of silently overwriting their
+// change. The database may also pick a transaction as deadlock victim, or time it out while it waits
+// for a row lock ("try restarting transaction"). In all these cases the transaction was rolled back
+// and the write starts over with a fresh read, at most MAX_ATTEMPTS times. That's safe because the
+// retried requests are not based on what the client saw:
+// - toggles flip whatever is stored, in any order
+// - without If-Match ("set these fields", "delete it") the retry behaves like the same request
+//   arriving a moment later, so old clients keep "last write wins" instead of getting new errors
+// - with If-Match the fresh read no longer has the client's version, so the retry stops with a
+//   VersionConflictException (412) right away
+// Each attempt needs a new transaction: in the old one MySQL (REPEATABLE READ) would keep reading
+// the same snapshot and lose again.
+// No locks are taken to "win" in the end: when many requests keep changing the same task, a write
+// can still lose every attempt and the client gets 409 (see SingleTaskContention in the loadtest module).
+@Component
+public class ConflictRetry {
+
+    // Attempts per write, the last failure goes to the client (409)
+    public static final int MAX_ATTEMPTS = 3;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ConflictRetry(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T execute(TransactionCallback<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(write);
+            } catch (ConcurrencyFailureException e) { // Optimistic lock, deadlock, lock wait timeout
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.taskmanager.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+// Minimal CSV writer (RFC 4180), the counterpart of CsvReader
+// A field is quoted only when it contains a comma, quote or line break; quotes are doubled.
+class CsvWriter {
+
+    private final Writer writer;
+
+    CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    // Write one record followed by CRLF, null fields are written as empty
+    void writeRecord(List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(fields.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+        boolean quote = field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
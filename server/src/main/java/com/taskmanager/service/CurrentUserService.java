@@ -0,0 +1,67 @@
+package com.taskmanager.service;
+
+import com.taskmanager.config.AuthenticatedUser;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service // Resolves "who is calling" for the controllers
+public class CurrentUserService {
+
+    // Max users kept in memory, the least recently used one is dropped first
+    private static final int MAX_CACHED_USERS = 10_000;
+
+    private final UserRepository userRepository;
+
+    // Small LRU cache of the users known to exist, by id (accessOrder = true moves entries on every get)
+    // Holds immutable snapshots, never User entities: an entity would be shared by every request
+    // thread and attached to their new tasks and categories. Nothing changes or deletes a user
+    // row (users only register), so a snapshot never goes stale and nothing needs evicting.
+    // Guarded by "this": LinkedHashMap in access order is modified even by get()
+    private final Map<Long, AuthenticatedUser> usersById = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, AuthenticatedUser> eldest) {
+            return size() > MAX_CACHED_USERS;
+        }
+    };
+
+    public CurrentUserService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // Id of the authenticated user, read from the JWT principal (never touches the database)
+    public Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser principal)) {
+            throw new RuntimeException("User not found");
+        }
+        return principal.getId();
+    }
+
+    // The authenticated user as an entity reference, to set as the owner of what the request creates
+    // A new, uninitialized reference per call (no query): only its id can be read outside a transaction.
+    // The first request of a user checks that the user exists, later ones are served from the cache.
+    public User getCurrentUser() {
+        Long userId = getCurrentUserId();
+        boolean known;
+        synchronized (this) {
+            known = usersById.get(userId) != null; // get(), not containsKey(): only get() counts as a use
+        }
+        if (!known) {
+            // Cache miss: load outside the lock so one slow query doesn't block every request
+            remember(userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found")));
+        }
+        return userRepository.getReferenceById(userId);
+    }
+
+    // Note that a freshly loaded user exists (e.g. right after login)
+    public synchronized void remember(User user) {
+        usersById.put(user.getId(), new AuthenticatedUser(user.getId(), user.getUsername()));
+    }
+}
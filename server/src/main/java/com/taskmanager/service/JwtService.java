@@ -1,15 +1,23 @@
 package com.taskmanager.service;
 
+import com.taskmanager.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -24,24 +32,85 @@ public class JwtService {
     // 24 hours = 24 * 60 * 60 * 1000 = 86400000 ms
     private static final long EXPIRATION_TIME = 86400000;
 
-    // Generate JWT token for a user (using email as username)
-    public String generateToken(String username) {
-        Map<String, Object> claims = new HashMap<>(); // Extra data to store in token (empty for now)
-        return createToken(claims, username);
+    // Claim holding the user's database id, lets the server identify the user without a query
+    private static final String USER_ID_CLAIM = "uid";
+
+    // Max number of verified tokens remembered (roughly one per active session)
+    private static final int MAX_VERIFIED_TOKENS = 50_000;
+
+    // Independently locked parts of the cache, so concurrent requests rarely wait for each other
+    private static final int CACHE_SEGMENTS = 16;
+
+    // Key and parser are immutable and thread-safe, so build them once instead of per call
+    private final Key signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // Tokens whose signature we already checked, keyed by SHA-256 digest of the token
+    // A client sends the same token on every request, so most requests skip verification entirely
+    private final TokenCache[] verifiedTokens = new TokenCache[CACHE_SEGMENTS];
+
+    public JwtService() {
+        for (int i = 0; i < CACHE_SEGMENTS; i++) {
+            verifiedTokens[i] = new TokenCache(MAX_VERIFIED_TOKENS / CACHE_SEGMENTS);
+        }
+    }
+
+    // Generate JWT token for a user (username as subject, id as "uid" claim)
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>(); // Extra data to store in token
+        claims.put(USER_ID_CLAIM, user.getId());
+        return createToken(claims, user.getUsername());
     }
 
     // Build the actual JWT token
     private String createToken(Map<String, Object> claims, String username) {
         return Jwts.builder()
-                .setClaims(claims) // Add extra claims (empty map)
-                .setSubject(username) // Set the username/email as subject
+                .setClaims(claims) // Add extra claims
+                .setSubject(username) // Set the username as subject
                 .setIssuedAt(new Date(System.currentTimeMillis())) // Token created now
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME)) // Token expires in 24h
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256) // Sign with secret key using HS256
+                .signWith(signingKey, SignatureAlgorithm.HS256) // Sign with secret key using HS256
                 .compact(); // Build the token string
     }
 
-    // Extract username/email from token
+    // Verify a token ONCE and return everything the filter needs from it
+    // Returns null if the token is malformed, badly signed, expired or has no user id
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+
+        TokenCache segment = verifiedTokens[Math.floorMod(digest.hashCode(), CACHE_SEGMENTS)];
+        VerifiedToken cached;
+        synchronized (segment) {
+            cached = segment.get(digest);
+            if (cached != null && cached.getExpiresAt() <= now) {
+                segment.remove(digest); // Expired since we cached it
+                return null;
+            }
+        }
+        if (cached != null) {
+            return cached; // Already verified, no parsing or HMAC needed
+        }
+
+        Claims claims;
+        try {
+            claims = extractAllClaims(token); // Checks signature and expiration
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        if (userId == null || claims.getSubject() == null || claims.getExpiration() == null) {
+            return null; // Token from an older version without a user id
+        }
+
+        VerifiedToken verified = new VerifiedToken(userId, claims.getSubject(), claims.getExpiration().getTime());
+        synchronized (segment) {
+            segment.put(digest, verified); // Full: pushes out the least recently used token
+        }
+        return verified;
+    }
+
+    // Extract username from token
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -59,28 +128,60 @@ public class JwtService {
 
     // Parse and extract all claims from token
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey()) // Use same key to verify signature
-                .build()
-                .parseClaimsJws(token) // Parse the token
+        return parser
+                .parseClaimsJws(token) // Parse the token and verify the signature
                 .getBody(); // Get the claims (payload)
     }
 
     // Check if token is valid (matches username and not expired)
     public boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        VerifiedToken verified = verify(token);
+        return verified != null && verified.getUsername().equals(username);
     }
 
-    // Check if token has expired
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // SHA-256 of the token, so the cache doesn't keep whole bearer tokens in memory
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // Every JVM ships SHA-256
+        }
     }
 
-    // Convert secret key string to Key object for signing
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // One part of the verified-token cache: least recently used first, bounded
+    // Expired tokens aren't looked for, an active client's token is used again and again,
+    // so the ones pushed out are those nobody sends anymore. Not thread-safe, callers lock it.
+    private static class TokenCache extends LinkedHashMap<String, VerifiedToken> {
+        private final int maxSize;
+
+        TokenCache(int maxSize) {
+            super(16, 0.75f, true); // Access order: get() moves a token to the end
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    // What we know about a token after verifying it
+    public static class VerifiedToken {
+        private final Long userId; // "uid" claim
+        private final String username; // Subject
+        private final long expiresAt; // Expiration in epoch milliseconds
+
+        public VerifiedToken(Long userId, String username, long expiresAt) {
+            this.userId = userId;
+            this.username = username;
+            this.expiresAt = expiresAt;
+        }
+
+        public Long getUserId() { return userId; }
+        public String getUsername() { return username; }
+        public long getExpiresAt() { return expiresAt; }
     }
 }
 
@@ -95,7 +196,7 @@ public class JwtService {
 //    { "alg": "HS256", "typ": "JWT" }
 //
 // 2. Payload (yyyyy) - Claims/data
-//    { "sub": "john@example.com", "iat": 1234567890, "exp": 1234654290 }
+//    { "uid": 7, "sub": "john", "iat": 1234567890, "exp": 1234654290 }
 //
 // 3. Signature (zzzzz) - Verification
 //    HMACSHA256(base64(header) + "." + base64(payload), SECRET_KEY)
@@ -0,0 +1,69 @@
+package com.taskmanager.service;
+
+import com.taskmanager.event.CategoryChangedEvent;
+import com.taskmanager.event.TagChangedEvent;
+import com.taskmanager.event.TaskChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Version stamps for the task, category and tag listings, used as ETags
+// A stamp changes after every committed write that can change a listing, so a client that
+// sends back the ETag it got (If-None-Match) can be answered with 304 Not Modified without
+// running the list query or serializing anything.
+@Component
+public class ListingVersions {
+
+    // Source of new stamps. Starts at the startup time, so stamps handed out before a restart
+    // never match again (the maps below are empty after a restart)
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+    private final long startStamp = clock.get();
+
+    private final ConcurrentHashMap<Long, Long> taskStamps = new ConcurrentHashMap<>(); // user id -> stamp
+    private final ConcurrentHashMap<Long, Long> categoryStamps = new ConcurrentHashMap<>(); // user id -> stamp
+    private volatile long tagStamp = startStamp; // Tags are shared by everyone
+
+    // ETag of a user's task listings
+    // Tasks show their category and tag names, so those stamps are part of it too
+    public String taskETag(Long userId) {
+        return "\"t" + taskStamps.getOrDefault(userId, startStamp) + "-" + tagStamp + "\"";
+    }
+
+    // ETag of a user's category listing
+    public String categoryETag(Long userId) {
+        return "\"c" + categoryStamps.getOrDefault(userId, startStamp) + "\"";
+    }
+
+    // ETag of a user's category listing with task counts (?counts=true)
+    // Counts change with every task write, so the task stamp is part of it
+    public String categoryCountsETag(Long userId) {
+        return "\"n" + categoryStamps.getOrDefault(userId, startStamp) + "-"
+                + taskStamps.getOrDefault(userId, startStamp) + "\"";
+    }
+
+    // ETag of the tag listing
+    public String tagETag() {
+        return "\"g" + tagStamp + "\"";
+    }
+
+    // Bumped only after commit: bumping earlier would let a poll that runs before the
+    // commit store the new ETag together with the old data
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        taskStamps.put(event.getUserId(), clock.incrementAndGet());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        long stamp = clock.incrementAndGet();
+        categoryStamps.put(event.getUserId(), stamp);
+        taskStamps.put(event.getUserId(), stamp); // Tasks carry the category name and color
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        tagStamp = clock.incrementAndGet();
+    }
+}
@@ -0,0 +1,146 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TagDTO;
+import com.taskmanager.event.TagChangedEvent;
+import com.taskmanager.repository.TagRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// In-memory copy of the (global, small, rarely written) tag table
+// Readers get an immutable snapshot without any locking or database access. Every committed
+// tag write builds a new snapshot from the old one and swaps it in (copy-on-write), so a
+// reader never sees a half-applied change.
+@Component
+public class TagCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(TagCatalog.class);
+
+    private final TagRepository tagRepository;
+
+    private volatile Snapshot snapshot; // null until first used
+    private final Object writeLock = new Object(); // Serializes loading and applying changes
+
+    public TagCatalog(TagRepository tagRepository) {
+        this.tagRepository = tagRepository;
+    }
+
+    // Every tag, newest first (same order as the old findAllByOrderByCreatedAtDesc listing)
+    // The list is read-only and shared, don't modify the DTOs in it
+    public List<TagDTO> getAll() {
+        return current().newestFirst;
+    }
+
+    // One tag by id, null if there is none
+    public TagDTO get(Long id) {
+        return current().byId.get(id);
+    }
+
+    // Tags whose name starts with prefix (case-insensitive), in name order, at most limit
+    // Binary search in the sorted names, then a walk over the matches: O(log n + limit)
+    public List<TagDTO> suggest(String prefix, int limit) {
+        Snapshot current = current();
+        String key = prefix.trim().toLowerCase(Locale.ROOT);
+        int index = Arrays.binarySearch(current.sortedKeys, key);
+        if (index < 0) {
+            index = -index - 1; // Insertion point = first name >= key
+        }
+        List<TagDTO> result = new ArrayList<>();
+        while (index < current.sortedKeys.length && result.size() < limit
+                && current.sortedKeys[index].startsWith(key)) {
+            result.add(current.sortedTags[index]);
+            index++;
+        }
+        return result;
+    }
+
+    // Apply a committed tag change to a copy of the snapshot, then swap it in
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        synchronized (writeLock) {
+            if (snapshot == null) {
+                return; // Not loaded yet; the first load reads the committed row
+            }
+            Map<Long, TagDTO> tags = new HashMap<>(snapshot.byId);
+            if (event.getType() == TagChangedEvent.Type.DELETED) {
+                tags.remove(event.getTagId());
+            } else {
+                tags.put(event.getTagId(), event.getTag());
+            }
+            snapshot = new Snapshot(tags.values());
+        }
+    }
+
+    // Reload from the database now and then, picks up rows changed outside the application
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void reload() {
+        synchronized (writeLock) {
+            snapshot = load();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (writeLock) {
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<TagDTO> tags = tagRepository.findAll().stream().map(TagDTO::fromEntity).collect(Collectors.toList());
+        log.debug("Tag catalog loaded: {} tags", tags.size());
+        return new Snapshot(tags);
+    }
+
+    // Immutable view of all tags with the indexes the readers need
+    private static class Snapshot {
+        final List<TagDTO> newestFirst;
+        final Map<Long, TagDTO> byId;
+        final String[] sortedKeys; // Lower-case names, sorted
+        final TagDTO[] sortedTags; // Tag of each sorted key
+
+        Snapshot(Collection<TagDTO> tags) {
+            List<TagDTO> list = new ArrayList<>(tags);
+            list.sort(Comparator.comparing(TagDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(TagDTO::getId, Comparator.reverseOrder()));
+            this.newestFirst = Collections.unmodifiableList(list);
+
+            Map<Long, TagDTO> ids = new HashMap<>();
+            for (TagDTO tag : list) {
+                ids.put(tag.getId(), tag);
+            }
+            this.byId = Collections.unmodifiableMap(ids);
+
+            List<TagDTO> byName = new ArrayList<>(list);
+            byName.sort(Comparator.comparing(TagCatalog::key).thenComparing(TagDTO::getId));
+            this.sortedTags = byName.toArray(new TagDTO[0]);
+            this.sortedKeys = new String[sortedTags.length];
+            for (int i = 0; i < sortedTags.length; i++) {
+                sortedKeys[i] = key(sortedTags[i]);
+            }
+        }
+    }
+
+    private static String key(TagDTO tag) {
+        return tag.getName() == null ? "" : tag.getName().toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,56 +2,105 @@ package com.taskmanager.service;
 
 import com.taskmanager.dto.TagDTO;
 import com.taskmanager.entity.Tag;
+import com.taskmanager.event.TagChangedEvent;
 import com.taskmanager.repository.TagRepository;
+import com.taskmanager.repository.TaskRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service // Marks this as a service component for business logic
 public class TagService {
 
     private final TagRepository tagRepository;
+    private final TaskRepository taskRepository;
+    private final TagCatalog tagCatalog; // In-memory copy of all tags, serves the reads
+    private final ApplicationEventPublisher eventPublisher; // Tells listeners (listing ETags, ...) about writes
+    private final TaskChangeSequence changeSequence; // Change feed positions of the tasks a rename touches
 
-    public TagService(TagRepository tagRepository) {
+    // Max suggestions returned by GET /api/tags/suggest
+    public static final int MAX_SUGGESTIONS = 50;
+
+    // Task ids per lock query when marking a tag's tasks changed (keeps the IN list bounded)
+    private static final int TOUCH_CHUNK_SIZE = 1000;
+
+    public TagService(TagRepository tagRepository, TaskRepository taskRepository, TagCatalog tagCatalog,
+            ApplicationEventPublisher eventPublisher, TaskChangeSequence changeSequence) {
         this.tagRepository = tagRepository;
+        this.taskRepository = taskRepository;
+        this.tagCatalog = tagCatalog;
+        this.eventPublisher = eventPublisher;
+        this.changeSequence = changeSequence;
     }
 
+    // Reads come from the catalog, no query (writes below update it through TagChangedEvent)
     public List<TagDTO> getAllTags() {
-        return tagRepository.findAllByOrderByCreatedAtDesc()
-                .stream()
-                .map(TagDTO::fromEntity)
-                .collect(Collectors.toList());
+        return tagCatalog.getAll();
     }
 
     public TagDTO getTagById(Long id) {
-        return tagRepository.findById(id)
-                .map(TagDTO::fromEntity)
-                .orElse(null);
+        return tagCatalog.get(id);
     }
 
+    // Tags whose name starts with prefix, for autocomplete
+    public List<TagDTO> suggestTags(String prefix, int limit) {
+        return tagCatalog.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    @Transactional // Events are delivered after the commit
     public TagDTO createTag(TagDTO tagDTO) {
         Tag tag = tagDTO.toEntity();
         Tag savedTag = tagRepository.save(tag);
-        return TagDTO.fromEntity(savedTag);
+        TagDTO created = TagDTO.fromEntity(savedTag);
+        eventPublisher.publishEvent(new TagChangedEvent(TagChangedEvent.Type.CREATED, created.getId(), created));
+        return created;
     }
 
+    @Transactional
     public TagDTO updateTag(Long id, TagDTO tagDTO) {
         return tagRepository.findById(id)
                 .map(existingTag -> {
                     existingTag.setName(tagDTO.getName());
                     Tag updatedTag = tagRepository.save(existingTag);
-                    return TagDTO.fromEntity(updatedTag);
+                    // Tasks show the tag name: mark them changed for the change feed
+                    List<Long> taskIds = touchTasksOfTag(id);
+                    TagDTO updated = TagDTO.fromEntity(updatedTag);
+                    eventPublisher.publishEvent(new TagChangedEvent(TagChangedEvent.Type.UPDATED, id, updated, taskIds));
+                    return updated;
                 })
                 .orElse(null);
     }
 
+    @Transactional
     public boolean deleteTag(Long id) {
         if (tagRepository.existsById(id)) {
             tagRepository.deleteById(id);
+            eventPublisher.publishEvent(new TagChangedEvent(TagChangedEvent.Type.DELETED, id, null));
             return true;
         }
         return false;
     }
-    
+
+    // Mark every task carrying the tag as changed, for the change feed (see TaskRepository.findIdsByTagId)
+    // Returns their ids
+    private List<Long> touchTasksOfTag(Long tagId) {
+        List<Long> taskIds = taskRepository.findIdsByTagId(tagId);
+        Map<Long, List<Long>> taskIdsByOwner = new TreeMap<>();
+        for (int from = 0; from < taskIds.size(); from += TOUCH_CHUNK_SIZE) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + TOUCH_CHUNK_SIZE, taskIds.size()));
+            for (Object[] row : taskRepository.lockOwnersByIds(chunk)) { // [taskId, userId]
+                if (row[1] != null) { // A task without owner is in nobody's change feed
+                    taskIdsByOwner.computeIfAbsent(((Number) row[1]).longValue(), owner -> new ArrayList<>())
+                            .add(((Number) row[0]).longValue());
+                }
+            }
+        }
+        taskIdsByOwner.forEach(changeSequence::tasksChanged); // One call per owner, not per task
+        return taskIds;
+    }
 }
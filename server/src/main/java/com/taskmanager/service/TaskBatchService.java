@@ -0,0 +1,224 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskBatchOperationDTO;
+import com.taskmanager.dto.TaskBatchResultDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.entity.Category;
+import com.taskmanager.entity.Tag;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskTombstone;
+import com.taskmanager.entity.User;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.repository.CategoryRepository;
+import com.taskmanager.repository.TagRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskTombstoneRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service // Applies many task changes in one go (offline sync)
+public class TaskBatchService {
+
+    // Max operations accepted in one batch
+    public static final int MAX_OPERATIONS = 1000;
+
+    private final TaskRepository taskRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final ConflictRetry conflictRetry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskBatchService(TaskRepository taskRepository, CategoryRepository categoryRepository,
+            TagRepository tagRepository, TaskTombstoneRepository tombstoneRepository,
+            ConflictRetry conflictRetry, ApplicationEventPublisher eventPublisher) {
+        this.taskRepository = taskRepository;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.conflictRetry = conflictRetry;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Apply all operations in ONE transaction
+    // Instead of findById + save per operation, everything the batch needs is loaded up front
+    // with three queries (tasks, categories, tags); the writes are then flushed together and
+    // Hibernate sends them as JDBC batches (hibernate.jdbc.batch_size in application.yml).
+    // A rejected operation (bad op, unknown id, other version) doesn't stop the others, see its result status.
+    // If another request changes one of the tasks before the flush, the @Version check fails and
+    // ConflictRetry runs the whole batch again on fresh data (nothing of the failed attempt was committed).
+    public List<TaskBatchResultDTO> applyBatch(List<TaskBatchOperationDTO> operations, User user) {
+        return conflictRetry.execute(status -> apply(operations, user));
+    }
+
+    private List<TaskBatchResultDTO> apply(List<TaskBatchOperationDTO> operations, User user) {
+        // Step 1: Load every task the batch touches, restricted to this user (the ownership check)
+        Set<Long> taskIds = operations.stream()
+                .map(TaskBatchOperationDTO::getId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = new HashMap<>();
+        if (!taskIds.isEmpty()) {
+            tasks = taskRepository.findByUserIdAndIdIn(user.getId(), taskIds).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+            if (!tasks.isEmpty()) {
+                taskRepository.fetchTags(tasks.keySet()); // Results include tags, load them in one query
+            }
+        }
+
+        // Step 2: Load every category and tag referenced by the batch
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> tagIds = new HashSet<>();
+        for (TaskBatchOperationDTO operation : operations) {
+            if (operation.getTask() != null) {
+                if (operation.getTask().getCategoryId() != null) {
+                    categoryIds.add(operation.getTask().getCategoryId());
+                }
+                if (operation.getTask().getTagIds() != null) {
+                    tagIds.addAll(operation.getTask().getTagIds());
+                }
+            }
+        }
+        Map<Long, Category> categories = categoryRepository.findAllById(categoryIds).stream()
+                .filter(category -> category.getUser().getId().equals(user.getId())) // Only the user's own
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        Map<Long, Tag> tags = tagRepository.findAllById(tagIds).stream()
+                .collect(Collectors.toMap(Tag::getId, Function.identity()));
+
+        // Step 3: Apply the operations in order
+        List<TaskBatchResultDTO> results = new ArrayList<>();
+        Map<Integer, Task> written = new HashMap<>(); // index -> task to return once flushed
+        Map<Integer, TaskDTO> before = new HashMap<>(); // index -> task before the operation, for listeners
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperationDTO operation = operations.get(i);
+            String op = operation.getOp() == null ? "" : operation.getOp().toLowerCase();
+            TaskDTO data = operation.getTask();
+
+            if (op.equals("create")) {
+                if (data == null || data.getTitle() == null || data.getTitle().isBlank()) {
+                    results.add(rejected(i, op, null, 400, "Task title is required"));
+                    continue;
+                }
+                Task task = data.toEntity();
+                task.setId(null); // Creates always get a new id
+                task.setUser(user);
+                applyRelations(task, data, categories, tags);
+                taskRepository.save(task); // Id comes from the sequence, the INSERT waits for the flush
+                written.put(i, task);
+                results.add(new TaskBatchResultDTO(i, op, task.getId(), 201, null, null));
+                continue;
+            }
+
+            if (!op.equals("update") && !op.equals("toggle") && !op.equals("delete")) {
+                results.add(rejected(i, op, operation.getId(), 400, "Unknown operation: " + operation.getOp()));
+                continue;
+            }
+            Task task = operation.getId() == null ? null : tasks.get(operation.getId());
+            if (task == null) {
+                results.add(rejected(i, op, operation.getId(), 404, "Task not found"));
+                continue;
+            }
+            if (operation.getVersion() != null && operation.getVersion() != task.getVersion()) {
+                results.add(rejected(i, op, task.getId(), 412,
+                        "Task was changed by another request (now at version " + task.getVersion() + ")"));
+                continue;
+            }
+            TaskDTO previous = TaskDTO.fromEntityWithoutTags(task);
+
+            if (op.equals("update")) {
+                if (data == null || data.getTitle() == null || data.getTitle().isBlank()) {
+                    results.add(rejected(i, op, task.getId(), 400, "Task title is required"));
+                    continue;
+                }
+                task.setTitle(data.getTitle());
+                task.setDescription(data.getDescription());
+                task.setCompleted(data.isCompleted());
+                task.setDueDate(data.getDueDate());
+                applyRelations(task, data, categories, tags);
+                written.put(i, task);
+                before.put(i, previous);
+                results.add(new TaskBatchResultDTO(i, op, task.getId(), 200, null, null));
+            } else if (op.equals("toggle")) {
+                task.setCompleted(!task.isCompleted());
+                written.put(i, task);
+                before.put(i, previous);
+                results.add(new TaskBatchResultDTO(i, op, task.getId(), 200, null, null));
+            } else {
+                taskRepository.delete(task);
+                before.put(i, previous);
+                tombstoneRepository.save(new TaskTombstone(task.getId(), user.getId())); // Batched like the rest
+                tasks.remove(task.getId()); // Later operations on this id get 404
+                results.add(new TaskBatchResultDTO(i, op, task.getId(), 204, null, null));
+            }
+        }
+
+        // Step 4: Send all INSERT/UPDATE/DELETE statements now, as JDBC batches
+        taskRepository.flush();
+
+        // Step 5: Fill in the resulting tasks and tell listeners (search index, stats, ...) what changed
+        // Result DTOs show the task after the whole batch, so when a task is touched twice the
+        // second event's "previous" is what the first event reported, keeping listeners' deltas right
+        Map<Long, TaskDTO> reported = new HashMap<>(); // task id -> task sent in its last event
+        for (TaskBatchResultDTO result : results) {
+            TaskChangedEvent.Type type = eventType(result);
+            if (type == null) {
+                continue;
+            }
+            TaskDTO dto = null;
+            Task task = written.get(result.getIndex());
+            if (task != null) {
+                dto = TaskDTO.fromEntity(task);
+                result.setTask(dto);
+            }
+            TaskDTO previous = reported.containsKey(result.getId()) ? reported.get(result.getId())
+                    : before.get(result.getIndex());
+            reported.put(result.getId(), dto);
+            eventPublisher.publishEvent(new TaskChangedEvent(type, user.getId(), result.getId(), dto, previous));
+        }
+        return results;
+    }
+
+    // Set category (only the user's own, like TaskService.updateTask) and the known tags
+    private void applyRelations(Task task, TaskDTO data, Map<Long, Category> categories, Map<Long, Tag> tags) {
+        task.setCategory(data.getCategoryId() == null ? null : categories.get(data.getCategoryId()));
+        Set<Tag> taskTags = new HashSet<>();
+        if (data.getTagIds() != null) {
+            for (Long tagId : data.getTagIds()) {
+                Tag tag = tags.get(tagId);
+                if (tag != null) {
+                    taskTags.add(tag);
+                }
+            }
+        }
+        // Changed in place, not replaced: Hibernate then only writes the task_tags rows that differ
+        task.getTags().retainAll(taskTags);
+        task.getTags().addAll(taskTags);
+    }
+
+    // Which event a successful result produces, null for rejected operations
+    private static TaskChangedEvent.Type eventType(TaskBatchResultDTO result) {
+        if (result.getError() != null) {
+            return null;
+        }
+        switch (result.getOp()) {
+            case "create": return TaskChangedEvent.Type.CREATED;
+            case "update": return TaskChangedEvent.Type.UPDATED;
+            case "toggle": return TaskChangedEvent.Type.TOGGLED;
+            case "delete": return TaskChangedEvent.Type.DELETED;
+            default: return null;
+        }
+    }
+
+    private static TaskBatchResultDTO rejected(int index, String op, Long id, int status, String error) {
+        return new TaskBatchResultDTO(index, op, id, status, null, error);
+    }
+}
@@ -0,0 +1,158 @@
+package com.taskmanager.service;
+
+import com.taskmanager.event.TaskChangedEvent;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Positions for the change feed (GET /api/tasks/changes) that follow the commit order
+//
+// Every transaction that writes tasks stamps the rows it changed (and the tombstones of the ones
+// it deleted) with the next number of the owner's counter in task_change_seq. That happens right
+// before the commit: the counter row is then locked until the commit, so a second transaction of
+// the same user gets its number only after the first one committed. A reader that sees number N
+// therefore also sees every smaller number of that user, and the feed can hand out "everything
+// up to N" without the gap a timestamp set before the commit leaves (see TaskSyncService).
+//
+// Writers don't call this for single tasks: every TaskChangedEvent is noted here. Bulk statements
+// that don't publish one per task (category and tag renames, detaching a category) call
+// tasksChanged with the ids they locked.
+@Component
+public class TaskChangeSequence {
+
+    // Ids per stamping UPDATE (keeps the IN list bounded)
+    private static final int STAMP_CHUNK_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate; // Runs on the transaction's connection
+    private final EntityManager entityManager;
+    // MySQL/MariaDB hand the new counter value back as the generated key (LAST_INSERT_ID(expr));
+    // other databases (H2 in the tests) read it back with a SELECT
+    private final boolean lastInsertId;
+
+    public TaskChangeSequence(NamedParameterJdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        String database = jdbcTemplate.getJdbcTemplate().execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        this.lastInsertId = "MySQL".equalsIgnoreCase(database) || "MariaDB".equalsIgnoreCase(database);
+    }
+
+    // Runs right away, inside the writing transaction (unlike the @TransactionalEventListener ones)
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Pending pending = pending();
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            pending.deleted(event.getUserId()).add(event.getTaskId());
+        } else {
+            pending.changed(event.getUserId()).add(event.getTaskId());
+        }
+    }
+
+    // Tasks changed by a bulk statement; must be locked already (written, or read FOR UPDATE),
+    // so stamping them under the counter lock never waits for another transaction
+    public void tasksChanged(Long userId, Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            pending().changed(userId).addAll(taskIds);
+        }
+    }
+
+    // Last number handed out for the user, 0 before the first change
+    public long current(Long userId) {
+        List<Long> seq = jdbcTemplate.queryForList("SELECT last_seq FROM task_change_seq WHERE user_id = :userId",
+                Map.of("userId", userId), Long.class);
+        return seq.isEmpty() ? 0 : seq.get(0);
+    }
+
+    // The current transaction's changes, collected until its commit
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                throw new IllegalStateException("Tasks must be written in a transaction");
+            }
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private class Pending implements TransactionSynchronization {
+
+        // user id -> task ids; sorted by user, so transactions touching several users
+        // (tag rename) take the counters in the same order and can't deadlock on them
+        private final Map<Long, Set<Long>> changed = new TreeMap<>();
+        private final Map<Long, Set<Long>> deleted = new TreeMap<>();
+
+        Set<Long> changed(Long userId) {
+            return changed.computeIfAbsent(userId, id -> new HashSet<>());
+        }
+
+        Set<Long> deleted(Long userId) {
+            return deleted.computeIfAbsent(userId, id -> new HashSet<>());
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            entityManager.flush(); // New tasks and tombstones only exist in the database after the flush
+            Set<Long> users = new TreeSet<>(changed.keySet());
+            users.addAll(deleted.keySet());
+            // By primary key / task_id only: a range over the user's rows would also lock rows
+            // another transaction of the user wrote, which waits for our counter -> deadlock
+            for (Long userId : users) {
+                long seq = next(userId);
+                stamp("UPDATE tasks SET change_seq = :seq WHERE id IN (:ids)", seq, changed.get(userId));
+                stamp("UPDATE task_tombstones SET change_seq = :seq WHERE task_id IN (:ids)", seq, deleted.get(userId));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TaskChangeSequence.this);
+        }
+
+        // Take the user's next number in one statement; the counter row stays locked until the commit
+        private long next(Long userId) {
+            MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+            if (!lastInsertId) {
+                jdbcTemplate.update("INSERT INTO task_change_seq (user_id, last_seq) VALUES (:userId, 1)"
+                        + " ON DUPLICATE KEY UPDATE last_seq = last_seq + 1", params);
+                return current(userId);
+            }
+            KeyHolder key = new GeneratedKeyHolder();
+            jdbcTemplate.update("INSERT INTO task_change_seq (user_id, last_seq) VALUES (:userId, LAST_INSERT_ID(1))"
+                    + " ON DUPLICATE KEY UPDATE last_seq = LAST_INSERT_ID(last_seq + 1)", params, key);
+            // Connector/J returns one key per affected row (2 for an update), counting up from
+            // LAST_INSERT_ID(); only the first one is real
+            return ((Number) key.getKeyList().get(0).values().iterator().next()).longValue();
+        }
+
+        private void stamp(String sql, long seq, Set<Long> ids) {
+            if (ids == null || ids.isEmpty()) {
+                return;
+            }
+            List<Long> all = new ArrayList<>(ids);
+            for (int from = 0; from < all.size(); from += STAMP_CHUNK_SIZE) {
+                jdbcTemplate.update(sql, new MapSqlParameterSource()
+                        .addValue("seq", seq)
+                        .addValue("ids", all.subList(from, Math.min(from + STAMP_CHUNK_SIZE, all.size()))));
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.taskmanager.service;
+
+import com.taskmanager.event.TaskChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes committed task changes to the user's open Server-Sent Events streams (GET /api/tasks/stream)
+// Connections use async servlet support: an idle stream holds no thread, only its socket and
+// a small queue. A few sender threads of its own write the queued events out, so a burst of
+// events or slow sockets can't take threads from the rest of the application.
+@Component
+public class TaskEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEventBroadcaster.class);
+
+    // Open streams allowed per user (browser tabs); opening one more closes the oldest
+    public static final int MAX_STREAMS_PER_USER = 10;
+
+    // Events waiting to be written to one stream; a client that falls this far behind is
+    // disconnected (it reconnects and catches up with GET /api/tasks/changes)
+    private static final int MAX_QUEUED_EVENTS = 256;
+
+    // Streams are closed after this long, EventSource clients reconnect by themselves
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(30);
+
+    // Threads writing events to the streams, shared by all connections
+    private static final int SENDER_THREADS = 4;
+
+    // Streams waiting for a sender thread (each stream is in the queue at most once, see
+    // Subscriber.scheduleDrain); past that its events wait for the next event or heartbeat
+    private static final int MAX_WAITING_STREAMS = 10_000;
+
+    private final ConcurrentHashMap<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>(); // user id -> streams
+    private final AtomicInteger threadNumber = new AtomicInteger();
+    private final ThreadPoolExecutor senders = new ThreadPoolExecutor(SENDER_THREADS, SENDER_THREADS,
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_WAITING_STREAMS), runnable -> {
+                Thread thread = new Thread(runnable, "sse-sender-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    // Open a new stream for the user
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        Subscriber[] oldest = new Subscriber[1];
+        subscribers.compute(userId, (id, streams) -> { // Atomic with remove()
+            if (streams == null) {
+                streams = new CopyOnWriteArrayList<>();
+            }
+            streams.add(subscriber);
+            if (streams.size() > MAX_STREAMS_PER_USER) {
+                oldest[0] = streams.get(0);
+            }
+            return streams;
+        });
+        if (oldest[0] != null) {
+            oldest[0].close();
+        }
+        subscriber.offer(new Message("ready", "ok", null)); // Lets the client know it is live
+        return emitter;
+    }
+
+    // Fan a committed change out to every stream of the task's owner
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        List<Subscriber> streams = subscribers.get(event.getUserId());
+        if (streams == null || streams.isEmpty()) {
+            return; // Nobody listening, nothing to do
+        }
+        Message message = new Message(event.getType().name().toLowerCase(Locale.ROOT), // created, updated, toggled, deleted
+                event, MediaType.APPLICATION_JSON);
+        for (Subscriber subscriber : streams) {
+            subscriber.offer(message);
+        }
+    }
+
+    // Heartbeat: keeps proxies from closing idle connections and finds dead ones
+    // (writing to a closed socket fails and the stream is removed)
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        for (List<Subscriber> streams : subscribers.values()) {
+            for (Subscriber subscriber : streams) {
+                subscriber.offer(Message.PING);
+            }
+        }
+    }
+
+    // Number of open streams, all users
+    public int getStreamCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (List<Subscriber> streams : subscribers.values()) {
+            streams.forEach(Subscriber::close);
+        }
+        senders.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.computeIfPresent(subscriber.userId, (id, streams) -> {
+            streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    // An event as queued for the streams: what to send, not an SseEventBuilder
+    // A builder is mutable (every build() adds to it) and must not be shared between streams or
+    // sender threads, so each send builds a fresh one from this
+    private static final class Message {
+        static final Message PING = new Message(null, null, null); // Heartbeat comment
+
+        private final String name; // null for the heartbeat
+        private final Object data;
+        private final MediaType mediaType; // null: written with toString()
+
+        Message(String name, Object data, MediaType mediaType) {
+            this.name = name;
+            this.data = data;
+            this.mediaType = mediaType;
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("ping");
+            }
+            return SseEmitter.event().name(name).data(data, mediaType);
+        }
+    }
+
+    // One open stream with its own bounded queue
+    // At most one sender thread drains a stream at a time, so events stay in order
+    private class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue = new ArrayBlockingQueue<>(MAX_QUEUED_EVENTS);
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private volatile boolean closed = false;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // Queue an event without blocking the caller (the publishing request)
+        void offer(Message event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.info("Closing event stream of user {}: client is not keeping up", userId);
+                close(); // Slow consumer
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) { // Shut down, or every sender busy with a full queue
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Message event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event.toEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(); // Client went away
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain(); // An event arrived after the loop ended but before the flag was reset
+            }
+        }
+
+        void close() {
+            remove(this);
+            queue.clear();
+            emitter.complete();
+        }
+    }
+}
+
+// ============================================
+// EVENT STREAM
+// ============================================
+//
+// GET /api/tasks/stream   (Authorization: Bearer <token>, Accept: text/event-stream)
+//
+// event:ready
+// data:ok
+//
+// event:created
+// data:{"type":"CREATED","userId":1,"taskId":42,"task":{...}}
+//
+// :ping                      <- heartbeat comment every 25 s
+//
+// event:deleted
+// data:{"type":"DELETED","userId":1,"taskId":42,"task":null}
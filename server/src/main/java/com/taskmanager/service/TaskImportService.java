@@ -0,0 +1,404 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.CategoryDTO;
+import com.taskmanager.dto.TagDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskImportReportDTO;
+import com.taskmanager.dto.TaskImportRowDTO;
+import com.taskmanager.entity.Category;
+import com.taskmanager.entity.Tag;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.event.CategoryChangedEvent;
+import com.taskmanager.event.TagChangedEvent;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.repository.CategoryRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Service // Bulk import of tasks from NDJSON or CSV
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    // Rows committed per transaction; the persistence context is cleared after each chunk
+    // so memory use doesn't grow with the size of the file
+    public static final int CHUNK_SIZE = 500;
+
+    // Supported file formats
+    public enum Format { NDJSON, CSV }
+
+    private final CategoryRepository categoryRepository;
+    private final TagCatalog tagCatalog;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskImportService(CategoryRepository categoryRepository, TagCatalog tagCatalog,
+            EntityManager entityManager, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher) {
+        this.categoryRepository = categoryRepository;
+        this.tagCatalog = tagCatalog;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Import every row of the input for the given user
+    // The input is parsed as a stream: only the current chunk of rows is ever held in memory.
+    // reporter receives a "progress" line after every chunk, an "error" line per rejected row
+    // and a final "done" line (also returned).
+    // Throws IllegalArgumentException before reporting anything if the file can't be read at all.
+    public TaskImportReportDTO importTasks(InputStream input, Format format, User user,
+            Consumer<TaskImportReportDTO> reporter) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowReader rows = format == Format.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+
+        // Name -> id lookups, built once per import instead of one query per row
+        Lookups lookups = new Lookups();
+        for (Category category : categoryRepository.findByUserIdOrderByCreatedAtDesc(user.getId())) {
+            lookups.categories.putIfAbsent(key(category.getName()), CategoryDTO.fromEntity(category));
+        }
+        for (TagDTO tag : tagCatalog.getAll()) {
+            lookups.tags.putIfAbsent(key(tag.getName()), tag);
+        }
+
+        Counters counters = new Counters();
+        List<ParsedRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        ParsedRow row;
+        while ((row = rows.next()) != null) {
+            counters.rowsRead++;
+            String error = row.error != null ? row.error : validate(row.data);
+            if (error != null) {
+                counters.failed++;
+                reporter.accept(errorLine(counters, row.number, error));
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                commitChunk(chunk, user.getId(), lookups, counters, reporter);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            commitChunk(chunk, user.getId(), lookups, counters, reporter);
+        }
+
+        TaskImportReportDTO done = new TaskImportReportDTO("done", counters.rowsRead, counters.imported,
+                counters.failed, null, null);
+        reporter.accept(done);
+        log.info("Import for user {} finished: {} imported, {} failed", user.getId(), counters.imported,
+                counters.failed);
+        return done;
+    }
+
+    // Save one chunk in its own transaction, then flush and clear the persistence context
+    private void commitChunk(List<ParsedRow> chunk, Long userId, Lookups lookups, Counters counters,
+            Consumer<TaskImportReportDTO> reporter) {
+        Set<String> newCategories = new HashSet<>(); // Created in this chunk, forgotten again on rollback
+        Set<String> newTags = new HashSet<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // References only carry the id, no SELECT is issued for them
+                User owner = entityManager.getReference(User.class, userId);
+                for (ParsedRow row : chunk) {
+                    TaskImportRowDTO data = row.data;
+                    Task task = new Task(data.getTitle(), data.getDescription());
+                    task.setCompleted(data.isCompleted());
+                    task.setDueDate(data.getDueDate());
+                    task.setUser(owner);
+
+                    CategoryDTO category = null;
+                    if (data.getCategory() != null && !data.getCategory().isBlank()) {
+                        category = resolveCategory(data.getCategory().trim(), owner, lookups, newCategories);
+                        task.setCategory(entityManager.getReference(Category.class, category.getId()));
+                    }
+                    List<TagDTO> tags = new ArrayList<>();
+                    Set<Long> tagIds = new HashSet<>();
+                    for (String tagName : data.getTags()) {
+                        if (tagName != null && !tagName.isBlank()) {
+                            TagDTO tag = resolveTag(tagName.trim(), lookups, newTags);
+                            if (tagIds.add(tag.getId())) { // Skip a tag listed twice
+                                tags.add(tag);
+                                task.getTags().add(entityManager.getReference(Tag.class, tag.getId()));
+                            }
+                        }
+                    }
+                    entityManager.persist(task);
+
+                    TaskDTO created = toDTO(task, category, tags);
+                    eventPublisher.publishEvent(
+                            new TaskChangedEvent(TaskChangedEvent.Type.CREATED, userId, task.getId(), created));
+                }
+                entityManager.flush(); // Send the chunk as JDBC batches
+                entityManager.clear(); // Forget the chunk's entities, keeps memory flat
+            });
+            counters.imported += chunk.size();
+        } catch (RuntimeException e) {
+            // The whole chunk was rolled back; report every row in it
+            newCategories.forEach(lookups.categories::remove);
+            newTags.forEach(lookups.tags::remove);
+            counters.failed += chunk.size();
+            log.warn("Import chunk rolled back", e);
+            for (ParsedRow row : chunk) {
+                reporter.accept(errorLine(counters, row.number, "Could not be saved: " + rootMessage(e)));
+            }
+        }
+        reporter.accept(new TaskImportReportDTO("progress", counters.rowsRead, counters.imported, counters.failed,
+                null, null));
+    }
+
+    // Look a category name up, creating the category for the user if it doesn't exist yet
+    private CategoryDTO resolveCategory(String name, User owner, Lookups lookups, Set<String> created) {
+        CategoryDTO category = lookups.categories.get(key(name));
+        if (category == null) {
+            Category entity = new Category(name);
+            entity.setUser(owner);
+            entityManager.persist(entity);
+            category = CategoryDTO.fromEntity(entity);
+            lookups.categories.put(key(name), category);
+            created.add(key(name));
+            eventPublisher.publishEvent(new CategoryChangedEvent(CategoryChangedEvent.Type.CREATED,
+                    owner.getId(), category.getId(), category));
+        }
+        return category;
+    }
+
+    // Look a tag name up, creating the tag if it doesn't exist yet
+    private TagDTO resolveTag(String name, Lookups lookups, Set<String> created) {
+        TagDTO tag = lookups.tags.get(key(name));
+        if (tag == null) {
+            Tag entity = new Tag(name);
+            entityManager.persist(entity);
+            tag = TagDTO.fromEntity(entity);
+            lookups.tags.put(key(name), tag);
+            created.add(key(name));
+            eventPublisher.publishEvent(new TagChangedEvent(TagChangedEvent.Type.CREATED, tag.getId(), tag));
+        }
+        return tag;
+    }
+
+    // Build the DTO from what we already know, TaskDTO.fromEntity would load the references
+    private static TaskDTO toDTO(Task task, CategoryDTO category, List<TagDTO> tags) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(task.getId());
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setCompleted(task.isCompleted());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setDueDate(task.getDueDate());
+        if (category != null) {
+            dto.setCategoryId(category.getId());
+            dto.setCategoryName(category.getName());
+            dto.setCategoryColor(category.getColor());
+        }
+        dto.setTags(tags);
+        dto.setTagIds(tags.stream().map(TagDTO::getId).toList());
+        return dto;
+    }
+
+    // Same limits as the database columns, checked up front so one bad row can't roll back a chunk
+    private static String validate(TaskImportRowDTO row) {
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        if (row.getTitle().length() > 255) {
+            return "Title is longer than 255 characters";
+        }
+        if (row.getCategory() != null && row.getCategory().trim().length() > 100) {
+            return "Category name is longer than 100 characters";
+        }
+        if (row.getTags() == null) {
+            row.setTags(new ArrayList<>());
+        }
+        for (String tag : row.getTags()) {
+            if (tag != null && tag.trim().length() > 50) {
+                return "Tag name is longer than 50 characters";
+            }
+        }
+        return null;
+    }
+
+    private static TaskImportReportDTO errorLine(Counters counters, long row, String error) {
+        return new TaskImportReportDTO("error", counters.rowsRead, counters.imported, counters.failed, row, error);
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String rootMessage(Throwable e) {
+        while (e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e.getMessage();
+    }
+
+    // ============================================
+    // ROW READERS
+    // ============================================
+
+    // A row read from the file: either data or the reason it couldn't be parsed
+    private static class ParsedRow {
+        final long number;
+        final TaskImportRowDTO data;
+        final String error;
+
+        ParsedRow(long number, TaskImportRowDTO data, String error) {
+            this.number = number;
+            this.data = data;
+            this.error = error;
+        }
+    }
+
+    private interface RowReader {
+        ParsedRow next() throws IOException; // null at end of input
+    }
+
+    // One JSON object per line, blank lines are skipped
+    private class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+        private long lineNumber = 0;
+
+        NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ParsedRow(lineNumber, objectMapper.readValue(line, TaskImportRowDTO.class), null);
+                } catch (JsonProcessingException e) {
+                    return new ParsedRow(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    // CSV with a header row naming the columns (any order, unknown columns are ignored)
+    private static class CsvRowReader implements RowReader {
+        private final CsvReader csv;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long recordNumber = 0;
+
+        CsvRowReader(BufferedReader reader) throws IOException {
+            this.csv = new CsvReader(reader);
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("title")) {
+                throw new IllegalArgumentException("CSV header must contain a 'title' column");
+            }
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                recordNumber++;
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue; // Empty line
+                }
+                try {
+                    return new ParsedRow(recordNumber, toRow(record), null);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    return new ParsedRow(recordNumber, null, e.getMessage());
+                }
+            }
+            return null;
+        }
+
+        private TaskImportRowDTO toRow(List<String> record) {
+            TaskImportRowDTO row = new TaskImportRowDTO();
+            row.setTitle(field(record, "title"));
+            row.setDescription(field(record, "description"));
+            row.setCompleted(parseBoolean(field(record, "completed")));
+            String dueDate = field(record, "duedate");
+            if (dueDate != null) {
+                // Accept "2024-05-01T09:00:00" or just "2024-05-01"
+                row.setDueDate(dueDate.contains("T") ? LocalDateTime.parse(dueDate)
+                        : LocalDate.parse(dueDate).atStartOfDay());
+            }
+            row.setCategory(field(record, "category"));
+            String tags = field(record, "tags");
+            if (tags != null) {
+                for (String tag : tags.split(";")) {
+                    if (!tag.isBlank()) {
+                        row.getTags().add(tag.trim());
+                    }
+                }
+            }
+            return row;
+        }
+
+        // Value of a column, null if the column is missing or empty
+        private String field(List<String> record, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+                return null;
+            }
+            return record.get(index);
+        }
+
+        private static boolean parseBoolean(String value) {
+            if (value == null) {
+                return false;
+            }
+            switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "true": case "1": case "yes": return true;
+                case "false": case "0": case "no": return false;
+                default: throw new IllegalArgumentException("Invalid completed value: " + value);
+            }
+        }
+    }
+
+    // Name lookups kept for the whole import
+    private static class Lookups {
+        final Map<String, CategoryDTO> categories = new HashMap<>();
+        final Map<String, TagDTO> tags = new HashMap<>();
+    }
+
+    private static class Counters {
+        long rowsRead;
+        long imported;
+        long failed;
+    }
+}
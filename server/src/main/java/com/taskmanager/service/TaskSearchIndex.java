@@ -0,0 +1,319 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TagDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.CategoryChangedEvent;
+import com.taskmanager.event.TagChangedEvent;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// In-memory inverted index over each user's tasks (title, description, category name, tag names)
+// Search looks words up in a sorted map instead of running LIKE '%keyword%' over the tasks table,
+// so its cost depends on the number of matching words, not on the size of the table.
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    // How much a match in each field counts towards the score
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float TAG_WEIGHT = 2.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // A prefix match ("mil" -> "milk") scores less than a whole-word match
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    // Tasks loaded per query while rebuilding the index on startup
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // One index per user, created on first use
+    private final ConcurrentHashMap<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    // Tasks changed while the startup rebuild is running, the rebuild must not overwrite them
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    // False until the startup rebuild has finished, TaskService falls back to the database until then
+    private volatile boolean ready = false;
+
+    public TaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Listeners run after the writer's commit, while its persistence context (which may hold
+        // tasks from before a bulk UPDATE) is still bound: read in a transaction of our own
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Search a user's tasks and return matching task ids, best match first
+    // Every word of the query must match (as a whole word or as a prefix of one)
+    public List<Long> search(Long userId, String query, int limit) {
+        List<String> terms = tokenize(query);
+        UserIndex index = indexes.get(userId);
+        if (terms.isEmpty() || index == null) {
+            return new ArrayList<>();
+        }
+        Map<Long, Float> scores = index.search(terms);
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Float>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()))) // Newer first on ties
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    // Keep the index in step with committed task changes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!ready) {
+            changedDuringRebuild.add(event.getTaskId());
+        }
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            remove(event.getUserId(), event.getTaskId());
+        } else {
+            index(event.getUserId(), event.getTask());
+        }
+    }
+
+    // A renamed or deleted category: its tasks are indexed under the old name (or no longer in it)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getType() != CategoryChangedEvent.Type.CREATED) {
+            reindex(event.getTaskIds());
+        }
+    }
+
+    // A renamed tag: same for the tasks carrying it (a tag still in use can't be deleted)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        if (event.getType() == TagChangedEvent.Type.UPDATED) {
+            reindex(event.getTaskIds());
+        }
+    }
+
+    // Read tasks again and replace them in their owners' indexes, REBUILD_BATCH_SIZE at a time
+    // A task deleted in the meantime is not found and stays out of the index
+    private void reindex(Collection<Long> taskIds) {
+        if (!ready) {
+            changedDuringRebuild.addAll(taskIds);
+        }
+        List<Long> ids = new ArrayList<>(taskIds);
+        for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REBUILD_BATCH_SIZE, ids.size()));
+            List<Map.Entry<Long, TaskDTO>> batch =
+                    readOnlyTransaction.execute(status -> load(taskRepository.findByIdIn(chunk)));
+            for (Map.Entry<Long, TaskDTO> row : batch) {
+                index(row.getKey(), row.getValue());
+            }
+        }
+    }
+
+    // Add or replace a task in its owner's index
+    public void index(Long userId, TaskDTO task) {
+        indexes.computeIfAbsent(userId, id -> new UserIndex()).put(task.getId(), termWeights(task));
+    }
+
+    // Remove a task from its owner's index
+    public void remove(Long userId, Long taskId) {
+        UserIndex index = indexes.get(userId);
+        if (index != null) {
+            index.remove(taskId);
+        }
+    }
+
+    // Load every task from the database once the application has started
+    // Tasks are read in id order, REBUILD_BATCH_SIZE at a time, so memory use stays small
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            final long after = lastId;
+            List<Map.Entry<Long, TaskDTO>> batch = readOnlyTransaction.execute(status ->
+                    load(taskRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(REBUILD_BATCH_SIZE))));
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            for (Map.Entry<Long, TaskDTO> row : batch) {
+                TaskDTO task = row.getValue();
+                if (!changedDuringRebuild.contains(task.getId())) { // Live update is newer than what we read
+                    index(row.getKey(), task);
+                }
+                lastId = task.getId();
+            }
+            total += batch.size();
+        }
+        ready = true;
+        changedDuringRebuild.clear();
+        log.info("Task search index built: {} tasks in {} ms", total, System.currentTimeMillis() - start);
+    }
+
+    // Owner id -> task of loaded tasks, with their tags (inside the transaction that loaded them)
+    private List<Map.Entry<Long, TaskDTO>> load(List<Task> tasks) {
+        if (!tasks.isEmpty()) {
+            taskRepository.fetchTags(tasks.stream().map(Task::getId).collect(Collectors.toList()));
+        }
+        return tasks.stream()
+                .map(task -> Map.entry(task.getUser().getId(), TaskDTO.fromEntity(task)))
+                .collect(Collectors.toList());
+    }
+
+    // Words of a task with their weight, a word found in several fields keeps its best weight
+    private static Map<String, Float> termWeights(TaskDTO task) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, task.getTitle(), TITLE_WEIGHT);
+        addTerms(weights, task.getCategoryName(), CATEGORY_WEIGHT);
+        if (task.getTags() != null) {
+            for (TagDTO tag : task.getTags()) {
+                addTerms(weights, tag.getName(), TAG_WEIGHT);
+            }
+        }
+        addTerms(weights, task.getDescription(), DESCRIPTION_WEIGHT);
+        return weights;
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Math::max);
+        }
+    }
+
+    // Lower-case words, split on anything that is not a letter or digit
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    // Index of one user's tasks
+    // Many searches can run at once; an update takes the write lock briefly
+    private static class UserIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>(); // word -> (task id -> weight)
+        private final Map<Long, Set<String>> termsByTask = new HashMap<>(); // task id -> its words, for removal
+
+        void put(Long taskId, Map<String, Float> weights) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(taskId);
+                for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                    postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(taskId, entry.getValue());
+                }
+                termsByTask.put(taskId, new HashSet<>(weights.keySet()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long taskId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(taskId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(Long taskId) {
+            Set<String> terms = termsByTask.remove(taskId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Map<Long, Float> tasks = postings.get(term);
+                if (tasks != null) {
+                    tasks.remove(taskId);
+                    if (tasks.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        // Score of every task that matches ALL terms
+        Map<Long, Float> search(List<String> terms) {
+            lock.readLock().lock();
+            try {
+                Map<Long, Float> result = null;
+                for (String term : terms) {
+                    Map<Long, Float> termScores = scoresFor(term);
+                    if (result == null) {
+                        result = termScores;
+                    } else {
+                        Map<Long, Float> both = new HashMap<>();
+                        for (Map.Entry<Long, Float> entry : result.entrySet()) {
+                            Float score = termScores.get(entry.getKey());
+                            if (score != null) {
+                                both.put(entry.getKey(), entry.getValue() + score);
+                            }
+                        }
+                        result = both;
+                    }
+                    if (result.isEmpty()) {
+                        break; // No task can match every term any more
+                    }
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Best score per task for one term: whole-word matches plus words starting with the term
+        private Map<Long, Float> scoresFor(String term) {
+            Map<Long, Float> scores = new HashMap<>();
+            // Every word that starts with term sorts between term and term + the highest char,
+            // so the TreeMap hands us exactly those words without scanning the rest
+            NavigableMap<String, Map<Long, Float>> matches =
+                    postings.subMap(term, true, term + Character.MAX_VALUE, false);
+            for (Map.Entry<String, Map<Long, Float>> entry : matches.entrySet()) {
+                float factor = entry.getKey().equals(term) ? 1.0f : PREFIX_FACTOR;
+                for (Map.Entry<Long, Float> posting : entry.getValue().entrySet()) {
+                    scores.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+                }
+            }
+            return scores;
+        }
+    }
+}
@@ -1,17 +1,35 @@
 package com.taskmanager.service;
 
+import com.taskmanager.dto.TagDTO;
+import com.taskmanager.dto.TaskCursor;
 import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskPageDTO;
+import com.taskmanager.dto.TaskPatchDTO;
 import com.taskmanager.entity.Task;
 import com.taskmanager.entity.Category;
 import com.taskmanager.entity.Tag;
+import com.taskmanager.entity.TaskTombstone;
+import com.taskmanager.event.TaskChangedEvent;
 import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.repository.CategoryRepository;
 import com.taskmanager.repository.TagRepository;
+import com.taskmanager.repository.TaskTombstoneRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.taskmanager.entity.User; // Import User
@@ -19,35 +37,74 @@ import com.taskmanager.entity.User; // Import User
 @Service // Marks this as a service component for business logic
 public class TaskService {
 
+    // Page size used when the client asks for a page without a limit
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    // Upper bound so one request can never pull a whole account again
+    public static final int MAX_PAGE_SIZE = 200;
+    // Max number of search results returned, best matches first
+    public static final int MAX_SEARCH_RESULTS = 200;
+    // Tasks whose tags are loaded by one query
+    private static final int TAG_QUERY_IDS = 1000;
+
     private final TaskRepository taskRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TaskSearchIndex searchIndex;
+    private final ConflictRetry conflictRetry; // Transactions of the writes that may lose a race
+    private final ApplicationEventPublisher eventPublisher; // Tells listeners (search index, ...) about writes
+    private final Cache secondLevelCache; // Hibernate's, for the Task.tags entry of a deleted task
 
     // Constructor injection - Spring auto-injects repositories
     public TaskService(TaskRepository taskRepository, CategoryRepository categoryRepository,
-            TagRepository tagRepository) {
+            TagRepository tagRepository, TaskTombstoneRepository tombstoneRepository, TaskSearchIndex searchIndex,
+            ConflictRetry conflictRetry, ApplicationEventPublisher eventPublisher,
+            EntityManagerFactory entityManagerFactory) {
         this.taskRepository = taskRepository;
         this.categoryRepository = categoryRepository;
         this.tagRepository = tagRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.searchIndex = searchIndex;
+        this.conflictRetry = conflictRetry;
+        this.eventPublisher = eventPublisher;
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
     }
 
+    // READS
+    // The read methods get DTOs straight from the projection queries of TaskRepository, no Task
+    // entities are loaded. readOnly also tells Hibernate (and the JDBC driver) not to flush.
+
     // Get all tasks for a specific user
+    @Transactional(readOnly = true) // One transaction for the listing + tag queries
     public List<TaskDTO> getAllTasks(User user) {
-        return taskRepository.findByUserIdOrderByCreatedAtDesc(user.getId())
-                .stream()
-                .map(TaskDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withTags(taskRepository.findByUserIdOrderByCreatedAtDesc(user.getId()));
+    }
+
+    // Get one page of a user's tasks (keyset pagination, newest first)
+    @Transactional(readOnly = true)
+    public TaskPageDTO getTasksPage(User user, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        List<TaskDTO> tasks;
+        if (cursor == null || cursor.isBlank()) {
+            tasks = taskRepository.findByUserIdOrderByCreatedAtDescIdDesc(user.getId(), Limit.of(pageSize + 1));
+        } else {
+            TaskCursor after = TaskCursor.decode(cursor);
+            tasks = taskRepository.findPageAfter(user.getId(), after.getCreatedAt(), after.getId(),
+                    Limit.of(pageSize + 1));
+        }
+        return toPage(tasks, pageSize);
     }
 
     // Get single task by ID for a specific user
+    @Transactional(readOnly = true)
     public TaskDTO getTaskById(Long id, User user) {
-        return taskRepository.findById(id)
-                .filter(task -> task.getUser().getId().equals(user.getId())) // Ensure ownership
-                .map(TaskDTO::fromEntity)
+        return taskRepository.findDTOByIdAndUserId(id, user.getId()) // Ensures ownership
+                .map(task -> withTags(List.of(task)).get(0))
                 .orElse(null);
     }
 
     // Create a new task for a specific user
+    @Transactional
     public TaskDTO createTask(TaskDTO taskDTO, User user) {
         Task task = taskDTO.toEntity();
         task.setUser(user); // Set the owner
@@ -73,77 +130,250 @@ public class TaskService {
             task.setTags(tags);
         }
         Task savedTask = taskRepository.save(task);
-        return TaskDTO.fromEntity(savedTask);
+        TaskDTO created = TaskDTO.fromEntity(savedTask);
+        eventPublisher.publishEvent(
+                new TaskChangedEvent(TaskChangedEvent.Type.CREATED, user.getId(), created.getId(), created));
+        return created;
     }
 
-    // Update existing task for a specific user
-    public TaskDTO updateTask(Long id, TaskDTO taskDTO, User user) {
-        return taskRepository.findById(id)
+    // WRITES AND VERSIONS
+    // expectedVersion is the request's If-Match (null = none): the version the client's change is
+    // based on. If the task is at another version a VersionConflictException is thrown (412).
+    // Updates and deletes run through ConflictRetry: when another request changes the task between
+    // our read and our write, the @Version check fails and the write is retried on fresh data.
+
+    // Update existing task for a specific user (PUT: every field is replaced)
+    public TaskDTO updateTask(Long id, TaskDTO taskDTO, User user, Long expectedVersion) {
+        return conflictRetry.execute(status -> taskRepository.findById(id)
                 .filter(task -> task.getUser().getId().equals(user.getId())) // Ensure ownership
                 .map(existingTask -> {
+                    checkVersion(id, existingTask.getVersion(), expectedVersion);
+                    TaskDTO previous = TaskDTO.fromEntityWithoutTags(existingTask); // For listeners (stats)
                     existingTask.setTitle(taskDTO.getTitle());
                     existingTask.setDescription(taskDTO.getDescription());
                     existingTask.setCompleted(taskDTO.isCompleted());
+                    existingTask.setCategory(ownedCategory(taskDTO.getCategoryId(), user));
+                    updateTags(existingTask, taskDTO.getTagIds());
+                    // Flushed now, so the response has the new version and updatedAt
+                    Task updatedTask = taskRepository.saveAndFlush(existingTask);
+                    TaskDTO updated = TaskDTO.fromEntity(updatedTask);
+                    eventPublisher.publishEvent(
+                            new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, user.getId(), id, updated, previous));
+                    return updated;
+                })
+                .orElse(null));
+    }
 
-                    if (taskDTO.getCategoryId() != null) {
-                        Category category = categoryRepository.findById(taskDTO.getCategoryId()).orElse(null);
-                        // Prevent assigning other user's category
-                        if (category != null && !category.getUser().getId().equals(user.getId())) {
-                            category = null;
-                        }
-                        existingTask.setCategory(category);
-                    } else {
-                        existingTask.setCategory(null);
+    // Partial update (PATCH): only the fields present in the request are changed
+    // Task is @DynamicUpdate, so the UPDATE statement lists only the columns that really changed,
+    // and tags are changed row by row (see updateTags): editing the title of a task with 20 tags
+    // is one small UPDATE, the task_tags rows are not touched.
+    public TaskDTO patchTask(Long id, TaskPatchDTO patch, User user, Long expectedVersion) {
+        if (patch.hasTitle() && patch.getTitle() == null) {
+            throw new IllegalArgumentException("title can't be null");
+        }
+        if (patch.hasCompleted() && patch.getCompleted() == null) {
+            throw new IllegalArgumentException("completed can't be null");
+        }
+        return conflictRetry.execute(status -> taskRepository.findById(id)
+                .filter(task -> task.getUser().getId().equals(user.getId())) // Ensure ownership
+                .map(existingTask -> {
+                    checkVersion(id, existingTask.getVersion(), expectedVersion);
+                    TaskDTO previous = TaskDTO.fromEntityWithoutTags(existingTask);
+                    if (patch.hasTitle()) {
+                        existingTask.setTitle(patch.getTitle());
                     }
-
-                    if (taskDTO.getTagIds() != null && !taskDTO.getTagIds().isEmpty()) {
-                        Set<Tag> tags = new HashSet<>(tagRepository.findAllById(taskDTO.getTagIds()));
-                        existingTask.setTags(tags);
-                    } else {
-                        existingTask.setTags(new HashSet<>());
+                    if (patch.hasDescription()) {
+                        existingTask.setDescription(patch.getDescription());
+                    }
+                    if (patch.hasCompleted()) {
+                        existingTask.setCompleted(patch.getCompleted());
+                    }
+                    if (patch.hasDueDate()) {
+                        existingTask.setDueDate(patch.getDueDate());
+                    }
+                    if (patch.hasCategoryId()) {
+                        existingTask.setCategory(ownedCategory(patch.getCategoryId(), user));
                     }
-                    Task updatedTask = taskRepository.save(existingTask);
-                    return TaskDTO.fromEntity(updatedTask);
+                    if (patch.hasTagIds()) {
+                        updateTags(existingTask, patch.getTagIds());
+                    }
+                    taskRepository.flush(); // Written now, so the response has the new version and updatedAt
+                    TaskDTO patched = TaskDTO.fromEntity(existingTask);
+                    // Nothing written (no field sent, or the same values): the version didn't move, so
+                    // no event, and the listing ETags, change feed and SSE streams stay as they are
+                    if (existingTask.getVersion() != previous.getVersion()) {
+                        eventPublisher.publishEvent(
+                                new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, user.getId(), id, patched, previous));
+                    }
+                    return patched;
                 })
+                .orElse(null));
+    }
+
+    // If-Match check: the client's change was based on expectedVersion (null = no If-Match, any version)
+    private static void checkVersion(Long id, long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            throw new VersionConflictException("Task", id, currentVersion);
+        }
+    }
+
+    // The user's category with this id, null if there is none (or it belongs to someone else)
+    private Category ownedCategory(Long categoryId, User user) {
+        if (categoryId == null) {
+            return null;
+        }
+        return categoryRepository.findById(categoryId)
+                .filter(category -> category.getUser().getId().equals(user.getId()))
                 .orElse(null);
     }
 
+    // Make the task's tags exactly tagIds by changing the loaded collection in place:
+    // Hibernate then deletes the task_tags rows of removed tags and inserts rows for added ones.
+    // (Assigning a new Set instead makes it delete every row of the task and insert them all again.)
+    private void updateTags(Task task, List<Long> tagIds) {
+        Set<Long> wanted = tagIds == null ? new HashSet<>() : new HashSet<>(tagIds);
+        task.getTags().removeIf(tag -> !wanted.contains(tag.getId()));
+        Set<Long> added = new HashSet<>(wanted);
+        task.getTags().forEach(tag -> added.remove(tag.getId()));
+        if (!added.isEmpty()) {
+            task.getTags().addAll(tagRepository.findAllById(added)); // Unknown ids are skipped
+        }
+    }
+
     // Delete task by ID for a specific user
-    public boolean deleteTask(Long id, User user) {
-        return taskRepository.findById(id)
-                .filter(task -> task.getUser().getId().equals(user.getId()))
-                .map(task -> {
-                    taskRepository.delete(task);
-                    return true;
-                })
-                .orElse(false);
+    // No Task entity is loaded: the "before" state for the change event comes from the DTO
+    // projection, the DELETE checks ownership itself and takes the task_tags rows with it.
+    // The DELETE only matches the version that was read, so listeners (stats) get exactly the
+    // task that was deleted; if it changed in between, ConflictRetry reads it again.
+    public boolean deleteTask(Long id, User user, Long expectedVersion) {
+        return conflictRetry.execute(status -> {
+            TaskDTO previous = taskRepository.findDTOByIdAndUserId(id, user.getId()).orElse(null);
+            if (previous == null) {
+                return false; // Not found, not the user's, or deleted by another request
+            }
+            checkVersion(id, previous.getVersion(), expectedVersion);
+            if (taskRepository.deleteByIdAndUserId(id, user.getId(), previous.getVersion()) == 0) {
+                throw new OptimisticLockingFailureException("Task " + id + " was changed while deleting it");
+            }
+            // The native DELETE doesn't tell Hibernate about the task_tags rows, drop just this task's entry
+            secondLevelCache.evictCollectionData(Task.class.getName() + ".tags", id);
+            tombstoneRepository.save(new TaskTombstone(id, user.getId())); // For GET /api/tasks/changes
+            eventPublisher.publishEvent(
+                    new TaskChangedEvent(TaskChangedEvent.Type.DELETED, user.getId(), id, null, previous));
+            return true;
+        });
     }
 
     // Toggle task completion status
-    public TaskDTO toggleTaskCompletion(Long id, User user) {
-        return taskRepository.findById(id)
-                .filter(task -> task.getUser().getId().equals(user.getId()))
-                .map(task -> {
-                    task.setCompleted(!task.isCompleted());
-                    Task updatedTask = taskRepository.save(task);
-                    return TaskDTO.fromEntity(updatedTask);
-                })
-                .orElse(null);
+    // One UPDATE flips the flag, adds 1 to the version and checks ownership (and the If-Match version),
+    // then the result is read back as a DTO; at the commit TaskChangeSequence adds its counter upsert and
+    // the change_seq stamp. Flipping inside the UPDATE never works on a stale read, so concurrent toggles
+    // don't conflict, the row lock puts them in a row. Under a pile-up on one task
+    // the database can still give up on one (deadlock victim, lock wait timeout); a toggle is safe to
+    // repeat, so ConflictRetry runs it again.
+    public TaskDTO toggleTaskCompletion(Long id, User user, Long expectedVersion) {
+        return conflictRetry.execute(status -> toggle(id, user, expectedVersion));
     }
 
-    // Search tasks by title for a specific user
+    private TaskDTO toggle(Long id, User user, Long expectedVersion) {
+        if (taskRepository.toggleCompleted(id, user.getId(), expectedVersion, LocalDateTime.now()) == 0) {
+            if (expectedVersion != null) {
+                // Exists but at another version -> 412, otherwise not found
+                taskRepository.findDTOByIdAndUserId(id, user.getId())
+                        .ifPresent(current -> checkVersion(id, current.getVersion(), expectedVersion));
+            }
+            return null; // Not found or not the user's
+        }
+        // Our own UPDATE holds the row lock, so this reads exactly the state it produced
+        TaskDTO toggled = getTaskById(id, user);
+        // Before the change only the flag and the version were different
+        // (its old updatedAt is overwritten, so left empty)
+        TaskDTO previous = new TaskDTO(id, toggled.getTitle(), toggled.getDescription(), !toggled.isCompleted(),
+                toggled.getCreatedAt(), null, toggled.getDueDate(),
+                toggled.getCategoryId(), toggled.getCategoryName(), toggled.getCategoryColor(),
+                toggled.getVersion() - 1);
+        eventPublisher.publishEvent(
+                new TaskChangedEvent(TaskChangedEvent.Type.TOGGLED, user.getId(), id, toggled, previous));
+        return toggled;
+    }
+
+    // Search a user's tasks by words in title, description, category and tag names
+    // Multiple words must all match, a word also matches as a prefix ("mil" finds "milk")
+    // Results are ranked: title hits first, then tag/category hits, then description hits
+    @Transactional(readOnly = true)
     public List<TaskDTO> searchTasks(String keyword, User user) {
-        return taskRepository.findByUserIdAndTitleContainingIgnoreCase(user.getId(), keyword)
-                .stream()
-                .map(TaskDTO::fromEntity)
+        if (!searchIndex.isReady()) {
+            // Index still loading right after startup: fall back to the old title LIKE query
+            return withTags(taskRepository.findByUserIdAndTitleContainingIgnoreCase(user.getId(), keyword));
+        }
+        List<Long> ids = searchIndex.search(user.getId(), keyword, MAX_SEARCH_RESULTS);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Load the hits by primary key, then put them back in ranking order
+        Map<Long, TaskDTO> byId = withTags(taskRepository.findDTOsByUserIdAndIdIn(user.getId(), ids)).stream()
+                .collect(Collectors.toMap(TaskDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(task -> task != null) // Deleted between index lookup and load
                 .collect(Collectors.toList());
     }
 
     // Get incomplete tasks for a specific user
+    @Transactional(readOnly = true)
     public List<TaskDTO> getIncompleteTasks(User user) {
-        return taskRepository.findByUserIdAndCompletedFalseOrderByCreatedAtDesc(user.getId())
-                .stream()
-                .map(TaskDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withTags(taskRepository.findByUserIdAndCompletedFalseOrderByCreatedAtDesc(user.getId()));
+    }
+
+    // Get one page of a user's incomplete tasks (keyset pagination, newest first)
+    @Transactional(readOnly = true)
+    public TaskPageDTO getIncompleteTasksPage(User user, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        List<TaskDTO> tasks;
+        if (cursor == null || cursor.isBlank()) {
+            tasks = taskRepository.findByUserIdAndCompletedFalseOrderByCreatedAtDescIdDesc(user.getId(),
+                    Limit.of(pageSize + 1));
+        } else {
+            TaskCursor after = TaskCursor.decode(cursor);
+            tasks = taskRepository.findIncompletePageAfter(user.getId(), after.getCreatedAt(), after.getId(),
+                    Limit.of(pageSize + 1));
+        }
+        return toPage(tasks, pageSize);
+    }
+
+    // Clamp the requested page size to 1..MAX_PAGE_SIZE
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // We fetch one row more than the page size: if it comes back there is a next page
+    private TaskPageDTO toPage(List<TaskDTO> tasks, int pageSize) {
+        boolean hasMore = tasks.size() > pageSize;
+        List<TaskDTO> items = withTags(hasMore ? tasks.subList(0, pageSize) : tasks);
+        String nextCursor = hasMore ? TaskCursor.after(items.get(items.size() - 1)).encode() : null;
+        return new TaskPageDTO(items, nextCursor);
+    }
+
+    // Fill in the tags of projected tasks, TAG_QUERY_IDS tasks per query
+    // (category name and color already came with the task row)
+    // A page needs one query; a full listing of a big account a few, because one IN list can't
+    // hold them all (MySQL allows at most 65,535 parameters in a statement)
+    private List<TaskDTO> withTags(List<TaskDTO> tasks) {
+        Map<Long, TaskDTO> byId = tasks.stream()
+                .collect(Collectors.toMap(TaskDTO::getId, Function.identity()));
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += TAG_QUERY_IDS) {
+            List<Long> chunk = ids.subList(from, Math.min(from + TAG_QUERY_IDS, ids.size()));
+            for (Object[] row : taskRepository.findTagRows(chunk)) {
+                TaskDTO task = byId.get((Long) row[0]);
+                task.getTags().add(new TagDTO((Long) row[1], (String) row[2], (LocalDateTime) row[3]));
+                task.getTagIds().add((Long) row[1]);
+            }
+        }
+        return tasks;
     }
 }
@@ -0,0 +1,220 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.CategoryTaskStatsDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskStatsDTO;
+import com.taskmanager.entity.Category;
+import com.taskmanager.entity.User;
+import com.taskmanager.event.CategoryChangedEvent;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.repository.CategoryRepository;
+import com.taskmanager.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service // Dashboard numbers (GET /api/stats) without downloading the task list
+public class TaskStatsService {
+
+    // Users whose counters are kept in memory, the least recently used is dropped first
+    private static final int MAX_CACHED_USERS = 10_000;
+
+    private final TaskRepository taskRepository;
+    private final CategoryRepository categoryRepository;
+
+    // user id -> counters (LRU, guarded by "this" like CurrentUserService)
+    private final Map<Long, UserStats> statsByUser = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, UserStats> eldest) {
+            return size() > MAX_CACHED_USERS;
+        }
+    };
+
+    public TaskStatsService(TaskRepository taskRepository, CategoryRepository categoryRepository) {
+        this.taskRepository = taskRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    // Counters of the user
+    // Built with two queries the first time, then kept up to date by the committed task
+    // events, so every later call is answered from memory in O(categories).
+    @Transactional(readOnly = true)
+    public TaskStatsDTO getStats(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        UserStats holder;
+        synchronized (this) {
+            holder = statsByUser.computeIfAbsent(user.getId(), id -> new UserStats());
+        }
+        long version;
+        synchronized (holder) {
+            if (holder.counters != null) {
+                return toDTO(holder.counters, now, user);
+            }
+            version = holder.version;
+        }
+
+        Counters loaded = load(user.getId(), now); // Outside the lock, writes keep flowing
+        synchronized (holder) {
+            if (holder.version == version) {
+                holder.counters = loaded; // No task changed while loading: safe to keep
+            }
+            // else: a change may or may not be in what we read, so don't keep it (next call reloads)
+            return toDTO(loaded, now, user);
+        }
+    }
+
+    // Apply a committed change as "remove the old state, add the new one"
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        UserStats holder = existing(event.getUserId());
+        if (holder == null) {
+            return; // Not loaded, nothing to update
+        }
+        synchronized (holder) {
+            holder.version++;
+            if (holder.counters == null) {
+                return;
+            }
+            if (event.getType() != TaskChangedEvent.Type.CREATED && event.getPrevious() == null) {
+                holder.counters = null; // Don't know what to subtract: reload on the next call
+                return;
+            }
+            if (event.getPrevious() != null) {
+                holder.counters.apply(event.getPrevious(), -1);
+            }
+            if (event.getTask() != null) {
+                holder.counters.apply(event.getTask(), 1);
+            }
+        }
+    }
+
+    // A deleted category leaves its tasks without one; simplest is to count again
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getType() != CategoryChangedEvent.Type.DELETED) {
+            return; // Names are looked up when answering, nothing counted changes
+        }
+        UserStats holder = existing(event.getUserId());
+        if (holder != null) {
+            synchronized (holder) {
+                holder.version++;
+                holder.counters = null;
+            }
+        }
+    }
+
+    private synchronized UserStats existing(Long userId) {
+        return statsByUser.get(userId);
+    }
+
+    private Counters load(Long userId, LocalDateTime now) {
+        Counters counters = new Counters(now);
+        for (Object[] row : taskRepository.countByCategoryAndCompleted(userId, now)) {
+            Long categoryId = (Long) row[0];
+            boolean completed = (Boolean) row[1];
+            long count = ((Number) row[2]).longValue();
+            long overdue = row[3] == null ? 0 : ((Number) row[3]).longValue();
+            long[] category = counters.byCategory.computeIfAbsent(categoryId, id -> new long[2]);
+            category[0] += count;
+            counters.total += count;
+            if (completed) {
+                category[1] += count;
+                counters.completed += count;
+            }
+            counters.overdue += overdue;
+        }
+        for (LocalDateTime dueDate : taskRepository.findUpcomingDueDates(userId, now)) {
+            counters.upcoming.merge(dueDate, 1, Integer::sum);
+        }
+        return counters;
+    }
+
+    private TaskStatsDTO toDTO(Counters counters, LocalDateTime now, User user) {
+        counters.advance(now);
+        Map<Long, String> names = new HashMap<>();
+        if (counters.byCategory.size() > 1 || !counters.byCategory.containsKey(null)) {
+            // Query cache + entity cache (see ehcache.xml), normally no SQL
+            for (Category category : categoryRepository.findByUserIdOrderByCreatedAtDesc(user.getId())) {
+                names.put(category.getId(), category.getName());
+            }
+        }
+        List<CategoryTaskStatsDTO> categories = new ArrayList<>();
+        for (Map.Entry<Long, long[]> entry : counters.byCategory.entrySet()) {
+            if (entry.getValue()[0] > 0) {
+                categories.add(new CategoryTaskStatsDTO(entry.getKey(), names.get(entry.getKey()),
+                        entry.getValue()[0], entry.getValue()[1]));
+            }
+        }
+        return new TaskStatsDTO(counters.total, counters.completed, counters.overdue, categories);
+    }
+
+    // Counters of one user plus the version used to detect changes during a load
+    private static class UserStats {
+        long version; // Bumped by every change event
+        Counters counters; // null = not loaded (or thrown away)
+    }
+
+    private static class Counters {
+        long total;
+        long completed;
+        long overdue; // Open tasks due before "watermark"
+        final Map<Long, long[]> byCategory = new HashMap<>(); // category id (null = none) -> {total, completed}
+        // Open tasks due at or after "watermark": due date -> number of tasks
+        // As time passes, advance() moves the ones now in the past into "overdue"
+        final TreeMap<LocalDateTime, Integer> upcoming = new TreeMap<>();
+        LocalDateTime watermark;
+
+        Counters(LocalDateTime now) {
+            this.watermark = now;
+        }
+
+        // Add (sign 1) or remove (sign -1) one task
+        void apply(TaskDTO task, int sign) {
+            total += sign;
+            long[] category = byCategory.computeIfAbsent(task.getCategoryId(), id -> new long[2]);
+            category[0] += sign;
+            if (task.isCompleted()) {
+                completed += sign;
+                category[1] += sign;
+                return;
+            }
+            LocalDateTime dueDate = task.getDueDate();
+            if (dueDate == null) {
+                return;
+            }
+            if (dueDate.isBefore(watermark)) {
+                overdue += sign;
+            } else {
+                int count = upcoming.getOrDefault(dueDate, 0) + sign;
+                if (count == 0) {
+                    upcoming.remove(dueDate);
+                } else {
+                    upcoming.put(dueDate, count);
+                }
+            }
+        }
+
+        // Count every due date that has passed since the last call as overdue
+        // Each due date moves once, so this is cheap over time
+        void advance(LocalDateTime now) {
+            if (!now.isAfter(watermark)) {
+                return;
+            }
+            Iterator<Map.Entry<LocalDateTime, Integer>> passed = upcoming.headMap(now, false).entrySet().iterator();
+            while (passed.hasNext()) {
+                overdue += passed.next().getValue();
+                passed.remove();
+            }
+            watermark = now;
+        }
+    }
+}
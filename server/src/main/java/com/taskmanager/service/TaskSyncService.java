@@ -0,0 +1,140 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskChangesDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSyncToken;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskTombstone;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service // Change feed for clients that keep a local copy of their tasks
+public class TaskSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSyncService.class);
+
+    // Max changed tasks (and max tombstones) per response
+    public static final int PAGE_SIZE = 500;
+
+    // Tombstones are kept this long; a client that hasn't synced for longer must reload everything
+    public static final Duration TOMBSTONE_RETENTION = Duration.ofDays(30);
+
+    // A token expires a day before the tombstones it hasn't seen yet could be purged
+    // (deletedAt is set a moment before the commit, the token's issuedAt after it)
+    private static final Duration TOKEN_LIFETIME = TOMBSTONE_RETENTION.minusDays(1);
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TaskChangeSequence changeSequence;
+
+    public TaskSyncService(TaskRepository taskRepository, TaskTombstoneRepository tombstoneRepository,
+            TaskChangeSequence changeSequence) {
+        this.taskRepository = taskRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeSequence = changeSequence;
+    }
+
+    // Thrown when the token is older than the tombstone retention
+    public static class SyncTokenExpiredException extends RuntimeException {
+        public SyncTokenExpiredException() {
+            super("Sync token expired, reload all tasks and sync from a fresh token");
+        }
+    }
+
+    // Tasks created/updated and ids deleted since the token
+    // Without a token: every task (in pages), plus deletions from now on.
+    // A client that is in sync costs two index range scans that find nothing.
+    // Positions are change sequence numbers (see TaskChangeSequence): a change that commits
+    // later always gets a higher number than everything already read, so nothing is skipped.
+    // Throws IllegalArgumentException for a bad token, SyncTokenExpiredException for an old one.
+    @Transactional(readOnly = true)
+    public TaskChangesDTO getChanges(User user, String since) {
+        LocalDateTime now = LocalDateTime.now();
+        TaskSyncToken token;
+        if (since == null || since.isBlank()) {
+            // Deletions from the current number on; read before the tasks, so a task deleted in
+            // between is either still in the tasks below or its tombstone comes after this number
+            long current = changeSequence.current(user.getId());
+            token = new TaskSyncToken(0, 0L, current, Long.MAX_VALUE, now);
+        } else {
+            token = TaskSyncToken.decode(since);
+            if (token.getIssuedAt().isBefore(now.minus(TOKEN_LIFETIME))) {
+                throw new SyncTokenExpiredException(); // Deletions it hasn't seen may be purged already
+            }
+        }
+
+        // Query 1: changed tasks (one more than the page, to know if there are more)
+        List<Task> tasks = taskRepository.findChangedAfter(user.getId(), token.getTaskSeq(),
+                token.getTaskId(), Limit.of(PAGE_SIZE + 1));
+        boolean moreTasks = tasks.size() > PAGE_SIZE;
+        if (moreTasks) {
+            tasks = tasks.subList(0, PAGE_SIZE);
+        }
+
+        // Query 2: tombstones
+        List<TaskTombstone> tombstones = tombstoneRepository.findAfter(user.getId(), token.getTombstoneSeq(),
+                token.getTombstoneId(), Limit.of(PAGE_SIZE + 1));
+        boolean moreTombstones = tombstones.size() > PAGE_SIZE;
+        if (moreTombstones) {
+            tombstones = tombstones.subList(0, PAGE_SIZE);
+        }
+
+        // Tags only when something changed, so an in-sync client stays at two queries
+        if (!tasks.isEmpty()) {
+            taskRepository.fetchTags(tasks.stream().map(Task::getId).collect(Collectors.toList()));
+        }
+
+        // Where the next call continues
+        long taskSeq = token.getTaskSeq();
+        Long taskId = token.getTaskId();
+        if (!tasks.isEmpty()) {
+            Task last = tasks.get(tasks.size() - 1);
+            taskSeq = last.getChangeSeq();
+            taskId = last.getId();
+        }
+        long tombstoneSeq = token.getTombstoneSeq();
+        Long tombstoneId = token.getTombstoneId();
+        if (!tombstones.isEmpty()) {
+            TaskTombstone last = tombstones.get(tombstones.size() - 1);
+            tombstoneSeq = last.getChangeSeq();
+            tombstoneId = last.getId();
+        }
+
+        List<TaskDTO> changed = tasks.stream().map(TaskDTO::fromEntity).collect(Collectors.toList());
+        List<Long> deleted = tombstones.stream().map(TaskTombstone::getTaskId).collect(Collectors.toList());
+        String nextToken = new TaskSyncToken(taskSeq, taskId, tombstoneSeq, tombstoneId, now).encode();
+        return new TaskChangesDTO(changed, deleted, nextToken, moreTasks || moreTombstones);
+    }
+
+    // Purge tombstones older than the retention, every night at 03:30
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(TOMBSTONE_RETENTION));
+        log.info("Purged {} task tombstones", purged);
+    }
+}
+
+// ============================================
+// SYNC LOOP (client side)
+// ============================================
+//
+// token = null
+// loop every few seconds:
+//   GET /api/tasks/changes?since=<token>    (no since on the very first call)
+//   upsert every task of "changed" by id, remove every id of "deleted"
+//   token = nextToken
+//   if hasMore: call again right away
+//   on 410 Gone: drop the local copy and start again without a token
@@ -0,0 +1,18 @@
+package com.taskmanager.service;
+
+// Thrown when a client sent If-Match with a version the task (or category) no longer has:
+// someone else changed it since the client read it. The controllers answer 412 Precondition Failed,
+// the client should load the current version and apply its change again.
+public class VersionConflictException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public VersionConflictException(String what, Long id, long currentVersion) {
+        super(what + " " + id + " was changed by another request (now at version " + currentVersion + ")");
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
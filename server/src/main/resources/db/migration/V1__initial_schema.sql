@@ -0,0 +1,63 @@
+-- =============================================================================
+-- V1: the schema as "ddl-auto: update" used to create it
+-- =============================================================================
+-- Exactly what Hibernate created for the entities before the schema moved to
+-- Flyway, including its generated constraint names (FK..., UK...), so a fresh
+-- database and an upgraded one end up identical.
+-- A database that was already created by Hibernate is baselined at this version
+-- (spring.flyway.baseline-on-migrate in application.yml): this script only runs
+-- on an empty database, everything added since then is in V2 and later.
+
+CREATE TABLE users (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6),
+    email      VARCHAR(100) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    username   VARCHAR(100) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email),
+    CONSTRAINT UK_r43af9ap4edm43mmtq01oddj6 UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE categories (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    color       VARCHAR(7),
+    created_at  DATETIME(6),
+    description TEXT,
+    name        VARCHAR(100) NOT NULL,
+    updated_at  DATETIME(6),
+    user_id     BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT FKghuylkwuedgl2qahxjt8g41kb FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE tags (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6),
+    name       VARCHAR(50) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE tasks (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    completed   BIT          NOT NULL,
+    created_at  DATETIME(6),
+    description TEXT,
+    due_date    DATETIME(6),
+    title       VARCHAR(255) NOT NULL,
+    updated_at  DATETIME(6),
+    category_id BIGINT,
+    user_id     BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT FK19nbrmutuqhlidppwns1wmfro FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT FK6s1ob9k4ihi75xbxe2w0ylsdh FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+-- Primary key in the "tags of a task" direction (fetchTags), V3 adds the reverse
+CREATE TABLE task_tags (
+    task_id BIGINT NOT NULL,
+    tag_id  BIGINT NOT NULL,
+    PRIMARY KEY (task_id, tag_id),
+    CONSTRAINT FK7xi1reghkj37gqwlr1ujxrxll FOREIGN KEY (task_id) REFERENCES tasks (id),
+    CONSTRAINT FKeiqe3k9ent7icelm1cihqn164 FOREIGN KEY (tag_id) REFERENCES tags (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,37 @@
+-- =============================================================================
+-- V2: what "ddl-auto: update" added before the schema moved to Flyway
+-- =============================================================================
+-- Databases created by the old Hibernate setup are baselined at V1 and start
+-- here, so nothing below may assume more than the V1 schema.
+
+-- Changes feed (GET /api/tasks/changes): changed rows are found by updated_at,
+-- deleted ones through a tombstone each
+CREATE INDEX idx_tasks_user_updated ON tasks (user_id, updated_at);
+
+CREATE TABLE task_tombstones (
+    id         BIGINT      NOT NULL,
+    task_id    BIGINT      NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_task_tombstones_user_deleted ON task_tombstones (user_id, deleted_at);
+
+-- MySQL has no sequences, Hibernate keeps them in one-row tables
+-- Task ids come from task_seq (see Task.java); tasks.id keeps its AUTO_INCREMENT
+-- from V1, which is unused but can't be dropped while task_tags references it.
+-- Hibernate's pooled optimizer reads next_val = N and hands out ids N-49 .. N,
+-- so the first block must start above the ids the old AUTO_INCREMENT gave out:
+-- N = MAX(id) + 50 (used to be done by TaskIdSequenceInitializer on every startup)
+CREATE TABLE task_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO task_seq SELECT COALESCE(MAX(id), 0) + 50 FROM tasks;
+
+CREATE TABLE task_tombstone_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO task_tombstone_seq VALUES (1);
@@ -0,0 +1,26 @@
+-- =============================================================================
+-- V3: composite indexes that match the repository queries
+-- =============================================================================
+-- InnoDB appends the primary key (id) to every secondary index, so
+-- (user_id, created_at) also serves "ORDER BY created_at DESC, id DESC" and the
+-- keyset page conditions on (created_at, id) without a filesort.
+-- Run with taskmanager.query-index-check=true to EXPLAIN every query on startup
+-- (see QueryIndexCheck.java).
+
+-- GET /api/tasks: findByUserIdOrderByCreatedAtDesc(IdDesc), findPageAfter, export
+CREATE INDEX idx_tasks_user_created ON tasks (user_id, created_at);
+
+-- GET /api/tasks/incomplete: findByUserIdAndCompletedFalse..., findIncompletePageAfter
+CREATE INDEX idx_tasks_user_completed_created ON tasks (user_id, completed, created_at);
+
+-- GET /api/stats: findUpcomingDueDates (user_id = ? AND completed = false AND due_date >= ?)
+CREATE INDEX idx_tasks_user_completed_due ON tasks (user_id, completed, due_date);
+
+-- GET /api/categories: findByUserIdOrderByCreatedAtDesc
+CREATE INDEX idx_categories_user_created ON categories (user_id, created_at);
+
+-- Tasks of a tag (findIdsByTagId); the primary key only covers task -> tags
+CREATE INDEX idx_task_tags_tag_task ON task_tags (tag_id, task_id);
+
+-- Nightly tombstone purge (deleteOlderThan)
+CREATE INDEX idx_task_tombstones_deleted ON task_tombstones (deleted_at);
@@ -0,0 +1,13 @@
+-- =============================================================================
+-- V4: deleting a task also deletes its task_tags rows
+-- =============================================================================
+-- TaskService.deleteTask is a single "DELETE FROM tasks WHERE id = ? AND user_id = ?"
+-- (TaskRepository.deleteByIdAndUserId). With ON DELETE CASCADE the database removes
+-- the task's tag links in the same statement, so no separate task_tags delete (or
+-- loading the task to find its tags) is needed first.
+
+-- The foreign key still has the name Hibernate gave it (see V1)
+ALTER TABLE task_tags DROP FOREIGN KEY FK7xi1reghkj37gqwlr1ujxrxll;
+
+ALTER TABLE task_tags ADD CONSTRAINT fk_task_tags_task
+    FOREIGN KEY (task_id) REFERENCES tasks (id) ON DELETE CASCADE;
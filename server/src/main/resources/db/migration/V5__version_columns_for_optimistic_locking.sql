@@ -0,0 +1,12 @@
+-- =============================================================================
+-- V5: version columns for optimistic locking (@Version on Task and Category)
+-- =============================================================================
+-- Every UPDATE adds 1 to version and checks the value it read ("... WHERE id = ?
+-- AND version = ?"), so when two devices edit the same task the second write fails
+-- instead of silently overwriting the first. The API sends the version as the ETag
+-- of a task/category and checks If-Match against it (412 Precondition Failed).
+-- Existing rows start at 0; rows inserted with plain SQL (imports, seeders) get 0 too.
+
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE categories ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
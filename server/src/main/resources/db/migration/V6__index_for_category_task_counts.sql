@@ -0,0 +1,11 @@
+-- =============================================================================
+-- V6: task counts per category
+-- =============================================================================
+-- GET /api/categories?counts=true counts a user's tasks per category with one
+-- "GROUP BY category_id" (TaskRepository.countByCategory). With completed in the
+-- index the query is answered from the index alone, in category order, without
+-- reading the task rows or sorting.
+-- Deleting a category (TaskRepository.detachFromCategory) finds its tasks through
+-- the index InnoDB created for its foreign key (category_id, see V1).
+
+CREATE INDEX idx_tasks_user_category_completed ON tasks (user_id, category_id, completed);
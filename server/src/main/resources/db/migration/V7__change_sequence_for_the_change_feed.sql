@@ -0,0 +1,29 @@
+-- =============================================================================
+-- V7: change feed ordered by commit instead of by timestamp
+-- =============================================================================
+-- updated_at / deleted_at are set before the commit, so a slow transaction could
+-- commit a change older than what a client already read, and it was never sent.
+-- Instead every write stamps its rows with a number from the owner's counter,
+-- taken right before the commit (see TaskChangeSequence.java).
+
+-- Last number handed out per user. The row stays locked until the commit, so the
+-- numbers of one user's changes are in commit order. No foreign key on purpose:
+-- inserting a task takes a shared lock on its users row, two of them wanting
+-- this counter under that lock would deadlock.
+CREATE TABLE task_change_seq (
+    user_id  BIGINT NOT NULL,
+    last_seq BIGINT NOT NULL,
+    PRIMARY KEY (user_id)
+) ENGINE = InnoDB;
+
+-- Rows written before this migration stay at 0, a client without a token starts at 0
+ALTER TABLE tasks ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE task_tombstones ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+-- GET /api/tasks/changes reads by (user_id, change_seq, id) now
+CREATE INDEX idx_tasks_user_change_seq ON tasks (user_id, change_seq);
+DROP INDEX idx_tasks_user_updated ON tasks;
+CREATE INDEX idx_task_tombstones_user_change_seq ON task_tombstones (user_id, change_seq);
+
+-- The stamp finds a deleted task's tombstone by task_id
+CREATE INDEX idx_task_tombstones_task ON task_tombstones (task_id);
@@ -0,0 +1,82 @@
+package com.taskmanager;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.CoreMigrationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Upgrading a database that was created by "ddl-auto: update" before the schema moved to Flyway
+// The database starts with the old schema and rows (db/baseline-schema.sql), then the app starts
+// as usual: Flyway baselines it at V1 and runs V2 onwards, Hibernate validates the entities.
+// Starting at all means the migrations and the entities fit that database.
+@SpringBootTest
+@ActiveProfiles("test")
+class MigrationUpgradeTest {
+
+    @TestConfiguration
+    static class BaselineDatabase {
+
+        // Runs before Flyway looks at the (still empty) database
+        @Bean
+        FlywayMigrationStrategy oldSchemaFirst() {
+            return flyway -> {
+                new ResourceDatabasePopulator(new ClassPathResource("db/baseline-schema.sql"))
+                        .execute(flyway.getConfiguration().getDataSource());
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void baselinesTheOldSchemaAndRunsEveryLaterMigration() {
+        MigrationInfo[] applied = flyway.info().applied();
+        assertEquals(CoreMigrationType.BASELINE, applied[0].getType());
+        assertEquals("1", applied[0].getVersion().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+        for (MigrationInfo migration : applied) {
+            assertTrue(migration.getState().isApplied() && !migration.getState().isFailed(),
+                    migration.getVersion() + " " + migration.getState());
+        }
+    }
+
+    @Test
+    @Transactional // Rolled back after the test
+    void oldRowsWorkWithTheNewSchema() {
+        // New task ids come from task_seq and start above the old AUTO_INCREMENT ids
+        Task task = new Task("new", null);
+        task.setUser(userRepository.findById(1L).orElseThrow());
+        assertTrue(taskRepository.saveAndFlush(task).getId() > 3);
+
+        // Old rows start at version 0; deleting a task takes its tag links with it (ON DELETE CASCADE)
+        assertEquals(1, taskRepository.deleteByIdAndUserId(1L, 1L, 0L));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from task_tags where task_id = 1", Integer.class));
+    }
+}
@@ -0,0 +1,185 @@
+package com.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Many clients writing ONE task at the same time, through HTTP (@Version + ETag/If-Match + ConflictRetry)
+//
+// Every thread mixes three writes:
+//   PATCH  - read the task, title n -> n+1 with If-Match
+//   PUT    - the same through a full replace (keeps the completed flag that was read)
+//   toggle - PUT /toggle, every other one with If-Match
+// Each request must end as 200, 412 (If-Match no longer matches) or 409 (lost every retry), and
+// no successful write may be lost: the title counts the successful PATCH/PUTs, the completed flag
+// flipped once per successful toggle, and the version went up once per successful write.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TaskConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 20; // Requests per thread
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String token;
+    private long taskId;
+
+    @BeforeEach
+    void userWithOneTask() throws Exception {
+        String email = UUID.randomUUID() + "@example.com";
+        token = json(send(request("/api/auth/register").POST(body("{\"username\":\"" + email
+                + "\",\"email\":\"" + email + "\",\"password\":\"secret123\"}")))).get("token").asText();
+        taskId = json(send(authorized("/api/tasks").POST(body("{\"title\":\"0\"}")))).get("id").asLong();
+    }
+
+    @Test
+    void concurrentWritesAreNeitherLostNorFailed() throws Exception {
+        JsonNode before = task();
+        Outcome total = new Outcome();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Outcome>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int thread = i;
+                results.add(pool.submit(() -> run(thread)));
+            }
+            for (Future<Outcome> result : results) {
+                total.add(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(Set.of(200, 409, 412).containsAll(total.statuses.keySet()), "statuses " + total.statuses);
+        assertTrue(total.increments > 0 && total.toggles > 0, "statuses " + total.statuses);
+        JsonNode after = task();
+        assertEquals(String.valueOf(total.increments), after.get("title").asText(), "lost PATCH/PUT");
+        assertEquals(before.get("completed").asBoolean() ^ (total.toggles % 2 == 1), after.get("completed").asBoolean(),
+                "lost toggle");
+        assertEquals(before.get("version").asLong() + total.increments + total.toggles, after.get("version").asLong(),
+                "version != successful writes (" + total.statuses + ")");
+    }
+
+    // What one thread (or all of them) got back
+    private static class Outcome {
+        final Map<Integer, Integer> statuses = new TreeMap<>();
+        int increments; // Successful PATCH/PUT
+        int toggles; // Successful toggles
+
+        void add(Outcome other) {
+            other.statuses.forEach((status, count) -> statuses.merge(status, count, Integer::sum));
+            increments += other.increments;
+            toggles += other.toggles;
+        }
+    }
+
+    private Outcome run(int thread) throws IOException, InterruptedException {
+        Outcome outcome = new Outcome();
+        for (int i = 0; i < OPERATIONS; i++) {
+            int status;
+            switch ((thread + i) % 3) {
+                case 0:
+                    status = increment(false);
+                    break;
+                case 1:
+                    status = increment(true);
+                    break;
+                default:
+                    status = toggle(i % 2 == 0);
+                    if (status == 200) {
+                        outcome.toggles++;
+                    }
+            }
+            if (status == 200 && (thread + i) % 3 != 2) {
+                outcome.increments++;
+            }
+            outcome.statuses.merge(status, 1, Integer::sum);
+        }
+        return outcome;
+    }
+
+    // Title n -> n+1 based on the version that was read, by PATCH or by PUT
+    private int increment(boolean put) throws IOException, InterruptedException {
+        HttpResponse<String> read = send(authorized("/api/tasks/" + taskId).GET());
+        JsonNode task = json(read);
+        long next = Long.parseLong(task.get("title").asText()) + 1;
+        HttpRequest.Builder write = authorized("/api/tasks/" + taskId)
+                .header("If-Match", read.headers().firstValue("ETag").orElseThrow());
+        if (put) {
+            write.PUT(body("{\"title\":\"" + next + "\",\"completed\":" + task.get("completed").asBoolean() + "}"));
+        } else {
+            write.method("PATCH", body("{\"title\":\"" + next + "\"}"));
+        }
+        return send(write).statusCode();
+    }
+
+    private int toggle(boolean ifMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder toggle = authorized("/api/tasks/" + taskId + "/toggle");
+        if (ifMatch) {
+            toggle.header("If-Match", send(authorized("/api/tasks/" + taskId).GET()).headers()
+                    .firstValue("ETag").orElseThrow());
+        }
+        return send(toggle.PUT(HttpRequest.BodyPublishers.noBody())).statusCode();
+    }
+
+    private JsonNode task() throws IOException, InterruptedException {
+        return json(send(authorized("/api/tasks/" + taskId).GET()));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return request(path).header("Authorization", "Bearer " + token);
+    }
+
+    private static HttpRequest.BodyPublisher body(String json) {
+        return HttpRequest.BodyPublishers.ofString(json);
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws IOException {
+        assertTrue(response.statusCode() / 100 == 2, response.statusCode() + " " + response.body());
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,127 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.entity.Category;
+import com.taskmanager.entity.Tag;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Loading a user's tasks with their categories and tags takes the same number of statements
+// for 5 tasks as for 50 (no lazy load per task, "N+1"). Counted with Hibernate's statistics
+// (generate_statistics in application.yml).
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE) // The test profile's H2, set up by Flyway
+@ActiveProfiles("test")
+class TaskRepositoryQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Tag urgent;
+    private Tag home;
+
+    @BeforeEach
+    void tags() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        urgent = entityManager.persist(new Tag("urgent-" + UUID.randomUUID()));
+        home = entityManager.persist(new Tag("home-" + UUID.randomUUID()));
+    }
+
+    // The listings: TaskDTO projection with the category joined, then the tags of all rows at once
+    @Test
+    void projectionListingDoesNotGrowWithTheTasks() {
+        long few = statementsForListing(userWithTasks(5), 5);
+        long many = statementsForListing(userWithTasks(50), 50);
+        assertEquals(2, few);
+        assertEquals(few, many);
+    }
+
+    // The entity path (batch operations, change feed): category in the same SELECT, tags with fetchTags
+    @Test
+    void entityLoadDoesNotGrowWithTheTasks() {
+        long few = statementsForEntities(userWithTasks(5), 5);
+        long many = statementsForEntities(userWithTasks(50), 50);
+        assertEquals(2, few);
+        assertEquals(few, many);
+    }
+
+    private long statementsForListing(User user, int taskCount) {
+        statistics.clear();
+        List<TaskDTO> tasks = taskRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+        List<Object[]> tagRows = taskRepository.findTagRows(ids(tasks.stream().map(TaskDTO::getId)));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(taskCount, tasks.size());
+        tasks.forEach(task -> assertEquals("Category of " + task.getTitle(), task.getCategoryName()));
+        assertEquals(2 * taskCount, tagRows.size());
+        return statements;
+    }
+
+    private long statementsForEntities(User user, int taskCount) {
+        List<Long> ids = ids(taskRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).stream().map(TaskDTO::getId));
+        entityManager.clear();
+        statistics.clear();
+        List<Task> tasks = taskRepository.findByUserIdAndIdIn(user.getId(), ids);
+        taskRepository.fetchTags(ids);
+        // Everything the DTOs need, without another statement
+        tasks.forEach(task -> {
+            assertEquals("Category of " + task.getTitle(), task.getCategory().getName());
+            assertEquals(2, task.getTags().size());
+        });
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(taskCount, tasks.size());
+        return statements;
+    }
+
+    // A new user with taskCount tasks, each in a category of its own and with both tags
+    // (one category per task, so a lazy category load would cost one statement per task)
+    // Written and then forgotten, so the loads above have to go to the database
+    private User userWithTasks(int taskCount) {
+        String name = UUID.randomUUID().toString();
+        User user = entityManager.persist(new User(name, "not-a-bcrypt-hash", name + "@example.com"));
+        for (int i = 0; i < taskCount; i++) {
+            Category category = new Category("Category of Task " + i);
+            category.setUser(user);
+            entityManager.persist(category);
+            Task task = new Task("Task " + i, null);
+            task.setUser(user);
+            task.setCategory(category);
+            task.setTags(new HashSet<>(List.of(urgent, home)));
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll(); // Second-level cache too
+        return user;
+    }
+
+    private static List<Long> ids(Stream<Long> ids) {
+        return ids.collect(Collectors.toList());
+    }
+}
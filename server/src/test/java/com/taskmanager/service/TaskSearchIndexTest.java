@@ -0,0 +1,126 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.CategoryDTO;
+import com.taskmanager.dto.TagDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Search through TaskSearchIndex: every word must match, prefixes count less, and the index
+// follows category and tag renames (the tasks themselves don't change then)
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskSearchIndexTest {
+
+    private static final int LIMIT = 10;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void newUser() {
+        String name = UUID.randomUUID().toString();
+        user = userRepository.save(new User(name, "not-a-bcrypt-hash", name + "@example.com"));
+    }
+
+    @Test
+    void everyWordMustMatchAsWordOrPrefix() {
+        Long milk = create("Buy milk", null, null, List.of()).getId();
+        Long bread = create("Buy bread", null, null, List.of()).getId();
+        Long shake = create("Milkshake recipe", null, null, List.of()).getId();
+
+        assertEquals(List.of(milk), search("buy mil"));
+        assertEquals(List.of(bread, milk), search("BUY")); // Same score: newer first
+        assertEquals(List.of(shake, milk), search("mil")); // Both prefixes: newer first
+        assertEquals(List.of(), search("buy recipe"));
+    }
+
+    @Test
+    void betterFieldsAndWholeWordsRankFirst() {
+        Long inDescription = create("Quarterly", "the report itself", null, List.of()).getId();
+        Long prefixInTitle = create("Reporting", null, null, List.of()).getId();
+        Long inTitle = create("Report", null, null, List.of()).getId();
+
+        // Title 3, title prefix 3 * 0.5, description 1
+        assertEquals(List.of(inTitle, prefixInTitle, inDescription), search("report"));
+    }
+
+    @Test
+    void categoryRenameAndDeleteReachTheIndex() {
+        String before = word();
+        String after = word();
+        CategoryDTO category = new CategoryDTO();
+        category.setName(before);
+        category = categoryService.createCategory(category, user);
+        Long task = create("Groceries", null, category.getId(), List.of()).getId();
+        assertEquals(List.of(task), search(before));
+
+        category.setName(after);
+        categoryService.updateCategory(category.getId(), category, user, null);
+        assertEquals(List.of(), search(before));
+        assertEquals(List.of(task), search(after));
+
+        categoryService.deleteCategory(category.getId(), user, null);
+        assertEquals(List.of(), search(after));
+        assertEquals(List.of(task), search("groceries"));
+    }
+
+    @Test
+    void tagRenameReachesTheIndex() {
+        String before = word();
+        String after = word();
+        TagDTO tag = new TagDTO();
+        tag.setName(before);
+        tag = tagService.createTag(tag);
+        Long task = create("Groceries", null, null, List.of(tag.getId())).getId();
+        assertEquals(List.of(task), search(before));
+
+        tag.setName(after);
+        tagService.updateTag(tag.getId(), tag);
+        assertEquals(List.of(), search(before));
+        assertEquals(List.of(task), search(after));
+    }
+
+    private TaskDTO create(String title, String description, Long categoryId, List<Long> tagIds) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setCategoryId(categoryId);
+        task.setTagIds(tagIds);
+        return taskService.createTask(task, user);
+    }
+
+    private List<Long> search(String query) {
+        return searchIndex.search(user.getId(), query, LIMIT);
+    }
+
+    // A single word no other test uses (tags are shared by all users)
+    private static String word() {
+        return "w" + Long.toString(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE), 36);
+    }
+}
@@ -0,0 +1,91 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.entity.Tag;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.TagRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Deleting a task drops its own Task.tags entry from the second-level cache, not everyone's
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskServiceDeleteCacheTest {
+
+    private static final String TAGS = Task.class.getName() + ".tags";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache cache;
+    private User user;
+    private Tag tag;
+
+    @BeforeEach
+    void userAndTag() {
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        String name = UUID.randomUUID().toString();
+        user = userRepository.save(new User(name, "not-a-bcrypt-hash", name + "@example.com"));
+        tag = tagRepository.save(new Tag("tag-" + name));
+    }
+
+    @Test
+    void deleteEvictsOnlyTheDeletedTasksTags() {
+        Long deleted = createWithTag("deleted");
+        Long kept = createWithTag("kept");
+        loadTags(deleted);
+        loadTags(kept);
+        assertTrue(cache.containsCollection(TAGS, deleted));
+        assertTrue(cache.containsCollection(TAGS, kept));
+
+        assertTrue(taskService.deleteTask(deleted, user, null));
+
+        assertFalse(cache.containsCollection(TAGS, deleted));
+        assertTrue(cache.containsCollection(TAGS, kept), "tags of other tasks evicted too");
+    }
+
+    private Long createWithTag(String title) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(title);
+        task.setTagIds(List.of(tag.getId()));
+        return taskService.createTask(task, user).getId();
+    }
+
+    // Initializing the collection puts it in the cache
+    private void loadTags(Long taskId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                taskRepository.findById(taskId).orElseThrow().getTags().size());
+    }
+}
@@ -0,0 +1,163 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskChangesDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskPatchDTO;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// GET /api/tasks/changes positions follow the commit order (TaskChangeSequence), and only real changes show up
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskSyncServiceTest {
+
+    @Autowired
+    private TaskSyncService taskSyncService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ListingVersions listingVersions;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void newUser() {
+        String name = UUID.randomUUID().toString();
+        user = userRepository.save(new User(name, "not-a-bcrypt-hash", name + "@example.com"));
+    }
+
+    @Test
+    void changeWrittenFirstButCommittedLastIsNotSkipped() throws Exception {
+        TaskDTO slow = create("slow");
+        TaskDTO fast = create("fast");
+        String token = syncAll();
+
+        // The slow transaction writes its task first and commits last
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> slowWrite = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    taskService.patchTask(slow.getId(), title("slow, edited"), user, null); // Flushed
+                    written.countDown();
+                    await(commit);
+                }));
+        await(written);
+        taskService.patchTask(fast.getId(), title("fast, edited"), user, null);
+
+        TaskChangesDTO first = taskSyncService.getChanges(user, token);
+        assertEquals(List.of(fast.getId()), ids(first));
+
+        commit.countDown();
+        slowWrite.get(10, TimeUnit.SECONDS);
+
+        // A timestamp position would be past the slow change by now, the sequence number isn't
+        TaskChangesDTO second = taskSyncService.getChanges(user, first.getNextToken());
+        assertEquals(List.of(slow.getId()), ids(second));
+        assertEquals("slow, edited", second.getChanged().get(0).getTitle());
+
+        TaskChangesDTO third = taskSyncService.getChanges(user, second.getNextToken());
+        assertTrue(third.getChanged().isEmpty() && third.getDeleted().isEmpty());
+    }
+
+    @Test
+    void firstSyncReportsOnlyLaterDeletions() {
+        TaskDTO before = create("deleted before the first sync");
+        TaskDTO after = create("deleted after it");
+        taskService.deleteTask(before.getId(), user, null);
+
+        TaskChangesDTO first = taskSyncService.getChanges(user, null);
+        assertEquals(List.of(after.getId()), ids(first));
+        assertTrue(first.getDeleted().isEmpty());
+
+        taskService.deleteTask(after.getId(), user, null);
+        TaskChangesDTO second = taskSyncService.getChanges(user, first.getNextToken());
+        assertTrue(second.getChanged().isEmpty());
+        assertEquals(List.of(after.getId()), second.getDeleted());
+    }
+
+    @Test
+    void patchThatChangesNothingIsNotAChange() {
+        TaskDTO task = create("unchanged");
+        String token = syncAll();
+        String eTag = listingVersions.taskETag(user.getId());
+
+        assertEquals(task.getVersion(), taskService.patchTask(task.getId(), title("unchanged"), user, null).getVersion());
+        assertEquals(task.getVersion(), taskService.patchTask(task.getId(), new TaskPatchDTO(), user, null).getVersion());
+
+        assertEquals(eTag, listingVersions.taskETag(user.getId()));
+        assertTrue(taskSyncService.getChanges(user, token).getChanged().isEmpty());
+
+        taskService.patchTask(task.getId(), title("changed"), user, null);
+        assertNotEquals(eTag, listingVersions.taskETag(user.getId()));
+        assertEquals(List.of(task.getId()), ids(taskSyncService.getChanges(user, token)));
+    }
+
+    @Test
+    void timestampTokenFromBeforeTheSequenceHasExpired() {
+        String old = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "2024-01-01T10:00|5|2024-01-01T10:00|0".getBytes(StandardCharsets.UTF_8));
+        assertThrows(TaskSyncService.SyncTokenExpiredException.class, () -> taskSyncService.getChanges(user, old));
+    }
+
+    private TaskDTO create(String title) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(title);
+        return taskService.createTask(task, user);
+    }
+
+    private static TaskPatchDTO title(String title) {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setTitle(title);
+        return patch;
+    }
+
+    // Token of a client that has everything
+    private String syncAll() {
+        TaskChangesDTO changes = taskSyncService.getChanges(user, null);
+        while (changes.isHasMore()) {
+            changes = taskSyncService.getChanges(user, changes.getNextToken());
+        }
+        return changes.getNextToken();
+    }
+
+    private static List<Long> ids(TaskChangesDTO changes) {
+        return changes.getChanged().stream().map(TaskDTO::getId).collect(Collectors.toList());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+-- A database as the app left it before the schema moved to Flyway:
+-- the tables "ddl-auto: update" (Hibernate 6.3, MySQL dialect) created for the
+-- original entities, with Hibernate's constraint names, plus a few rows.
+-- Taken from SHOW CREATE TABLE of such a database; MigrationUpgradeTest
+-- migrates it to the current schema.
+
+CREATE TABLE users (
+    id bigint NOT NULL AUTO_INCREMENT,
+    created_at datetime(6) DEFAULT NULL,
+    email varchar(100) NOT NULL,
+    password varchar(255) NOT NULL,
+    username varchar(100) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email),
+    CONSTRAINT UK_r43af9ap4edm43mmtq01oddj6 UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE categories (
+    id bigint NOT NULL AUTO_INCREMENT,
+    color varchar(7) DEFAULT NULL,
+    created_at datetime(6) DEFAULT NULL,
+    description text DEFAULT NULL,
+    name varchar(100) NOT NULL,
+    updated_at datetime(6) DEFAULT NULL,
+    user_id bigint DEFAULT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKghuylkwuedgl2qahxjt8g41kb FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE tags (
+    id bigint NOT NULL AUTO_INCREMENT,
+    created_at datetime(6) DEFAULT NULL,
+    name varchar(50) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE tasks (
+    id bigint NOT NULL AUTO_INCREMENT,
+    completed bit(1) NOT NULL,
+    created_at datetime(6) DEFAULT NULL,
+    description text DEFAULT NULL,
+    due_date datetime(6) DEFAULT NULL,
+    title varchar(255) NOT NULL,
+    updated_at datetime(6) DEFAULT NULL,
+    category_id bigint DEFAULT NULL,
+    user_id bigint DEFAULT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FK19nbrmutuqhlidppwns1wmfro FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT FK6s1ob9k4ihi75xbxe2w0ylsdh FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE task_tags (
+    task_id bigint NOT NULL,
+    tag_id bigint NOT NULL,
+    PRIMARY KEY (task_id, tag_id),
+    CONSTRAINT FK7xi1reghkj37gqwlr1ujxrxll FOREIGN KEY (task_id) REFERENCES tasks (id),
+    CONSTRAINT FKeiqe3k9ent7icelm1cihqn164 FOREIGN KEY (tag_id) REFERENCES tags (id)
+) ENGINE = InnoDB;
+
+INSERT INTO users (id, created_at, email, password, username)
+VALUES (1, '2024-01-01 10:00:00', 'old@example.com', 'not-a-bcrypt-hash', 'old');
+
+INSERT INTO categories (id, color, created_at, name, updated_at, user_id)
+VALUES (1, '#ff0000', '2024-01-01 10:00:00', 'Old category', '2024-01-01 10:00:00', 1);
+
+INSERT INTO tags (id, created_at, name) VALUES (1, '2024-01-01 10:00:00', 'oldtag');
+
+INSERT INTO tasks (id, completed, created_at, title, updated_at, category_id, user_id) VALUES
+    (1, 0, '2024-01-01 10:00:00', 'old 1', '2024-01-01 10:00:00', 1, 1),
+    (2, 1, '2024-01-01 10:00:01', 'old 2', '2024-01-01 10:00:01', 1, 1),
+    (3, 0, '2024-01-01 10:00:02', 'old 3', '2024-01-01 10:00:02', NULL, 1);
+
+INSERT INTO task_tags (task_id, tag_id) VALUES (1, 1), (2, 1);